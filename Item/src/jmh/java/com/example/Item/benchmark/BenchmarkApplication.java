@@ -0,0 +1,67 @@
+package com.example.Item.benchmark;
+
+import com.example.Item.ItemApplication;
+import com.example.Item.model.Student;
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Starts {@link ItemApplication} on a private in-memory H2 database seeded with a given number
+ * of students. Extra arguments override the defaults, e.g. {@code --students.cache.maximum-size=0}.
+ */
+final class BenchmarkApplication {
+
+    private static final int SEED_BATCH_SIZE = 1000;
+
+    private BenchmarkApplication() {
+    }
+
+    static ConfigurableApplicationContext start(final int rows, final String... overrides) {
+
+        System.setProperty("spring.devtools.restart.enabled", "false");
+
+        final List<String> args = new ArrayList<>(Arrays.asList(
+                "--server.port=0",
+                "--spring.datasource.url=jdbc:h2:mem:" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1",
+                "--spring.datasource.username=sa",
+                "--spring.datasource.password=",
+                "--spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+                "--spring.jpa.hibernate.ddl-auto=create",
+                "--spring.jpa.show-sql=false",
+                "--spring.jpa.properties.hibernate.format_sql=false",
+                "--spring.flyway.enabled=false",
+                "--logging.level.root=WARN"
+        ));
+        args.addAll(Arrays.asList(overrides));
+
+        final ConfigurableApplicationContext context = SpringApplication.run(ItemApplication.class,
+                args.toArray(new String[0]));
+
+        seed(context.getBean(JdbcTemplate.class), rows);
+
+        return context;
+    }
+
+    private static void seed(final JdbcTemplate jdbcTemplate, final int rows) {
+
+        final List<Object[]> batch = new ArrayList<>(SEED_BATCH_SIZE);
+
+        for (int i = 1; i <= rows; i++) {
+            batch.add(new Object[]{i, "First" + i, "Last" + i});
+
+            if (batch.size() == SEED_BATCH_SIZE || i == rows) {
+                jdbcTemplate.batchUpdate("INSERT INTO table_students (s_id, s_first_name, s_last_name, s_version)"
+                        + " VALUES (?, ?, ?, 0)", batch);
+                batch.clear();
+            }
+        }
+
+        jdbcTemplate.execute("ALTER SEQUENCE " + Student.ID_SEQUENCE + " RESTART WITH " + (rows + 1));
+    }
+}
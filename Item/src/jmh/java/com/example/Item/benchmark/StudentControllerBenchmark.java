@@ -0,0 +1,83 @@
+package com.example.Item.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.security.web.csrf.DefaultCsrfToken;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.context.WebApplicationContext;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+
+/**
+ * The full {@code /students/list} request, Thymeleaf render included, through {@link MockMvc}.
+ * Security filters are left out; the CSRF token the template needs is supplied directly.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class StudentControllerBenchmark {
+
+    @Param({"100000"})
+    public int rows;
+
+    @Param({"2", "50"})
+    public int pageSize;
+
+    @Param({"0.0", "0.99"})
+    public double depth;
+
+    private ConfigurableApplicationContext context;
+
+    private MockMvc mvc;
+
+    private int pageNumber;
+
+    @Setup
+    public void setUp() {
+        context = BenchmarkApplication.start(rows);
+        mvc = MockMvcBuilders.webAppContextSetup((WebApplicationContext) context).build();
+
+        pageNumber = (int) (rows * depth) / pageSize;
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public MvcResult list() throws Exception {
+        return list("page", pageNumber);
+    }
+
+    @Benchmark
+    public MvcResult listAfter() throws Exception {
+        return list("after", pageNumber * pageSize);
+    }
+
+    private MvcResult list(final String parameter, final int value) throws Exception {
+        return mvc.perform(get("/students/list")
+                        .param(parameter, String.valueOf(value))
+                        .param("size", String.valueOf(pageSize))
+                        .requestAttr("_csrf", new DefaultCsrfToken("X-CSRF-TOKEN", "_csrf", "benchmark")))
+                .andReturn();
+    }
+}
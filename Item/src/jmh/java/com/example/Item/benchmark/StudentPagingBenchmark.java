@@ -0,0 +1,78 @@
+package com.example.Item.benchmark;
+
+import com.example.Item.model.StudentSummary;
+import com.example.Item.service.StudentService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Slice;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Offset ({@link StudentService#getStudents}) against keyset ({@link StudentService#getStudentsAfter})
+ * paging at different page sizes and depths into the table.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class StudentPagingBenchmark {
+
+    @Param({"100000"})
+    public int rows;
+
+    @Param({"2", "50"})
+    public int pageSize;
+
+    /**
+     * Position of the page in the table, from 0 (first page) to 1 (last page).
+     */
+    @Param({"0.0", "0.5", "0.99"})
+    public double depth;
+
+    private ConfigurableApplicationContext context;
+
+    private StudentService service;
+
+    private int pageNumber;
+
+    private int cursor;
+
+    @Setup
+    public void setUp() {
+        context = BenchmarkApplication.start(rows);
+        service = context.getBean(StudentService.class);
+
+        pageNumber = (int) (rows * depth) / pageSize;
+        cursor = pageNumber * pageSize;
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public Page<StudentSummary> getStudents() {
+        return service.getStudents(pageNumber, pageSize);
+    }
+
+    @Benchmark
+    public Slice<StudentSummary> getStudentsAfter() {
+        return service.getStudentsAfter(cursor, pageSize);
+    }
+}
@@ -0,0 +1,88 @@
+package com.example.Item.benchmark;
+
+import com.example.Item.model.Student;
+import com.example.Item.model.StudentSummary;
+import com.example.Item.service.StudentService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.Slice;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.persistence.EntityManager;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * One list page read as managed {@link Student} entities (what the list did before) against
+ * {@link StudentSummary} projections ({@link StudentService#getStudentsAfter}). Run with
+ * {@code -prof gc} to compare {@code gc.alloc.rate.norm}, the bytes allocated per page.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class StudentProjectionBenchmark {
+
+    @Param({"100000"})
+    public int rows;
+
+    @Param({"10", "100"})
+    public int pageSize;
+
+    private ConfigurableApplicationContext context;
+
+    private StudentService service;
+
+    private EntityManager entityManager;
+
+    private TransactionTemplate transactionTemplate;
+
+    @Setup
+    public void setUp() {
+        context = BenchmarkApplication.start(rows);
+        service = context.getBean(StudentService.class);
+        entityManager = context.getBean(EntityManager.class);
+        transactionTemplate = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public List<Student> entities() {
+
+        final int after = cursor();
+
+        return transactionTemplate.execute(status -> entityManager
+                .createQuery("select s from Student s where s.id > :id order by s.id asc", Student.class)
+                .setParameter("id", after)
+                .setMaxResults(pageSize)
+                .getResultList());
+    }
+
+    @Benchmark
+    public Slice<StudentSummary> projections() {
+        return service.getStudentsAfter(cursor(), pageSize);
+    }
+
+    private int cursor() {
+        return ThreadLocalRandom.current().nextInt(rows - pageSize);
+    }
+}
@@ -0,0 +1,108 @@
+package com.example.Item.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.net.CookieManager;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.Base64;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+/**
+ * Throughput of the blocking ({@code /api/students}) against the asynchronous
+ * ({@code /api/async/students}) read path over real HTTP, with many more concurrent clients
+ * than Undertow worker threads. {@code -p virtualThreads=false,true} (on a Java 21+ JVM) adds
+ * the comparison with request handling on virtual threads.
+ * <p>
+ * The clients log in once with HTTP Basic and then send only the session cookie, so the
+ * numbers are of the read path and not of the password check.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Threads(64)
+@Fork(1)
+public class StudentReadPathBenchmark {
+
+    @Param({"100000"})
+    public int rows;
+
+    @Param({"8"})
+    public int workerThreads;
+
+    @Param({"false"})
+    public boolean virtualThreads;
+
+    private ConfigurableApplicationContext context;
+
+    private HttpClient client;
+
+    private String baseUrl;
+
+    @Setup
+    public void setUp() throws Exception {
+        context = BenchmarkApplication.start(rows,
+                "--students.async.enabled=true",
+                "--server.undertow.threads.worker=" + workerThreads,
+                "--students.virtual-threads.enabled=" + virtualThreads);
+
+        final CookieManager cookies = new CookieManager();
+
+        client = HttpClient.newBuilder().cookieHandler(cookies).build();
+        baseUrl = "http://localhost:" + context.getEnvironment().getProperty("local.server.port");
+
+        final HttpRequest login = HttpRequest.newBuilder(URI.create(baseUrl + "/api/students"))
+                .header("Authorization", "Basic " + Base64.getEncoder().encodeToString("toni:asroma".getBytes(UTF_8)))
+                .build();
+
+        client.send(login, HttpResponse.BodyHandlers.discarding());
+
+        if (cookies.getCookieStore().getCookies().isEmpty()) {
+            throw new IllegalStateException("Login did not start a session");
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public int blockingList() throws Exception {
+        return get("/api/students");
+    }
+
+    @Benchmark
+    public int asyncList() throws Exception {
+        return get("/api/async/students");
+    }
+
+    private int get(final String path) throws Exception {
+
+        final int after = ThreadLocalRandom.current().nextInt(rows);
+
+        final HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + path + "?after=" + after)).build();
+
+        return client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+    }
+}
@@ -0,0 +1,65 @@
+package com.example.Item.benchmark;
+
+import com.example.Item.model.Student;
+import com.example.Item.service.StudentService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.Optional;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Single-record reads and writes through {@link StudentService}. A {@code cacheSize} of 0 turns
+ * the student cache off, so every {@code getStudent} goes to the database.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class StudentServiceBenchmark {
+
+    @Param({"100000"})
+    public int rows;
+
+    @Param({"0", "10000"})
+    public int cacheSize;
+
+    private ConfigurableApplicationContext context;
+
+    private StudentService service;
+
+    @Setup
+    public void setUp() {
+        context = BenchmarkApplication.start(rows, "--students.cache.maximum-size=" + cacheSize);
+        service = context.getBean(StudentService.class);
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public Optional<Student> getStudent() {
+        return service.getStudent(ThreadLocalRandom.current().nextInt(1, Math.min(rows, 1000) + 1));
+    }
+
+    @Benchmark
+    public Student save() {
+        return service.save(new Student(0, "Bench", "Mark"));
+    }
+}
@@ -0,0 +1,56 @@
+package com.example.Item.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.Base64;
+import java.util.concurrent.TimeUnit;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+/**
+ * Cold start: time from {@code SpringApplication.run} to the first answered
+ * {@code /api/students} request, one start per fresh JVM. Compare the default and the
+ * {@code fast-startup} profile; a class-data-sharing archive built with {@code -Pcds} can be
+ * added with {@code -jvmArgsAppend -XX:SharedArchiveFile=target/cds/app.jsa}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 0)
+@Measurement(iterations = 1)
+@Fork(10)
+public class StudentStartupBenchmark {
+
+    @Param({"default", "fast-startup"})
+    public String profile;
+
+    @Benchmark
+    public int timeToFirstRequest() throws Exception {
+
+        try (ConfigurableApplicationContext context = BenchmarkApplication.start(0,
+                "--spring.profiles.active=" + profile)) {
+
+            final String port = context.getEnvironment().getProperty("local.server.port");
+
+            final HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/api/students"))
+                    .header("Authorization", "Basic " + Base64.getEncoder().encodeToString("toni:asroma".getBytes(UTF_8)))
+                    .build();
+
+            return HttpClient.newHttpClient().send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+        }
+    }
+}
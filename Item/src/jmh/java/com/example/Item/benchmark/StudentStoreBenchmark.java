@@ -0,0 +1,81 @@
+package com.example.Item.benchmark;
+
+import com.example.Item.model.Student;
+import com.example.Item.model.StudentSummary;
+import com.example.Item.repository.StudentStore;
+import com.example.Item.service.StudentService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.Page;
+
+import java.util.Optional;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link StudentService} reads on the JPA store against the in-memory one
+ * ({@code students.store.type=memory}), with the student cache off so every read reaches the store.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class StudentStoreBenchmark {
+
+    @Param({"100000"})
+    public int rows;
+
+    @Param({"jpa", "memory"})
+    public String store;
+
+    @Param({"20"})
+    public int pageSize;
+
+    private ConfigurableApplicationContext context;
+
+    private StudentService service;
+
+    @Setup
+    public void setUp() {
+        context = BenchmarkApplication.start(rows,
+                "--students.store.type=" + store,
+                "--students.cache.maximum-size=0");
+        service = context.getBean(StudentService.class);
+
+        if ("memory".equals(store)) {
+            final StudentStore students = context.getBean(StudentStore.class);
+
+            for (int i = 1; i <= rows; i++) {
+                students.save(new Student(0, "First" + i, "Last" + i));
+            }
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public Optional<Student> getStudent() {
+        return service.getStudent(ThreadLocalRandom.current().nextInt(1, rows + 1));
+    }
+
+    @Benchmark
+    public Page<StudentSummary> getStudents() {
+        return service.getStudents(ThreadLocalRandom.current().nextInt(rows / pageSize), pageSize);
+    }
+}
@@ -0,0 +1,63 @@
+package com.example.Item.Controller;
+
+import com.example.Item.model.Student;
+import com.example.Item.model.StudentSummary;
+import com.example.Item.service.AsyncStudentService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.ResponseStatus;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+
+import static com.example.Item.Controller.StudentApiController.DEFAULT_API_PAGE_SIZE;
+
+/**
+ * Read-only twin of {@link StudentApiController} whose handlers complete asynchronously (see
+ * {@link AsyncStudentService}). Enabled with {@code students.async.enabled=true}.
+ */
+@RestController
+@RequestMapping("/api/async/students")
+@ConditionalOnProperty(name = "students.async.enabled", havingValue = "true")
+public class AsyncStudentApiController {
+
+    private final AsyncStudentService service;
+
+    @Autowired
+    public AsyncStudentApiController(final AsyncStudentService service) {
+        this.service = service;
+    }
+
+    @GetMapping
+    public CompletableFuture<List<StudentSummary>> list(@RequestParam(value = "after", defaultValue = "0") final int after,
+                                                        @RequestParam(value = "size", defaultValue = DEFAULT_API_PAGE_SIZE + "") final int pageSize) {
+        return service.getStudentsAfter(after, pageSize).thenApply(slice -> slice.getContent());
+    }
+
+    @GetMapping("/{id}")
+    public CompletableFuture<ResponseEntity<Student>> get(@PathVariable final int id) {
+        return service.getStudent(id).thenApply(ResponseEntity::of);
+    }
+
+    @GetMapping("/search")
+    public CompletableFuture<List<StudentSummary>> search(@RequestParam("q") final String query,
+                                                          @RequestParam(value = "after", defaultValue = "0") final int after,
+                                                          @RequestParam(value = "size", defaultValue = DEFAULT_API_PAGE_SIZE + "") final int pageSize) {
+        return service.searchStudentsAfter(query, after, pageSize).thenApply(slice -> slice.getContent());
+    }
+
+    @ExceptionHandler(RejectedExecutionException.class)
+    @ResponseStatus(HttpStatus.SERVICE_UNAVAILABLE)
+    public void saturated() {
+        // the read pool is full; the client may retry later
+    }
+}
@@ -0,0 +1,120 @@
+package com.example.Item.Controller;
+
+import com.example.Item.model.Student;
+import com.example.Item.model.StudentSummary;
+import com.example.Item.service.StudentService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Slice;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.ResponseStatus;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
+
+import java.net.URI;
+import java.util.List;
+
+/**
+ * JSON counterpart of {@link StudentController}. Lists are keyset-paged: the body is a plain array
+ * and the next page, if any, is announced in a {@code Link: <...>; rel="next"} header.
+ * Responses carry an ETag (see {@code Web#etagFilter}) so unchanged resources come back as 304.
+ */
+@RestController
+@RequestMapping("/api/students")
+public class StudentApiController {
+
+    static final int DEFAULT_API_PAGE_SIZE = 20;
+
+    private final StudentService service;
+
+    @Autowired
+    public StudentApiController(final StudentService service) {
+        this.service = service;
+    }
+
+    @GetMapping
+    public ResponseEntity<List<StudentSummary>> list(@RequestParam(value = "after", defaultValue = "0") final int after,
+                                                     @RequestParam(value = "size", defaultValue = DEFAULT_API_PAGE_SIZE + "") final int pageSize) {
+
+        final Slice<StudentSummary> slice = service.getStudentsAfter(after, pageSize);
+        final List<StudentSummary> students = slice.getContent();
+
+        final ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+
+        if (slice.hasNext()) {
+            final URI next = ServletUriComponentsBuilder.fromCurrentRequest()
+                    .replaceQueryParam("after", students.get(students.size() - 1).getId())
+                    .replaceQueryParam("size", pageSize)
+                    .build()
+                    .toUri();
+
+            response.header(HttpHeaders.LINK, "<" + next + ">; rel=\"next\"");
+        }
+
+        return response.body(students);
+    }
+
+    @GetMapping("/{id}")
+    public ResponseEntity<Student> get(@PathVariable final int id) {
+        return ResponseEntity.of(service.getStudent(id));
+    }
+
+    @PostMapping
+    public ResponseEntity<Student> create(@RequestBody final Student student) {
+
+        student.setId(0);
+
+        final Student saved = service.save(student);
+
+        final URI location = ServletUriComponentsBuilder.fromCurrentRequest()
+                .path("/{id}")
+                .buildAndExpand(saved.getId())
+                .toUri();
+
+        return ResponseEntity.created(location).body(saved);
+    }
+
+    @PutMapping("/{id}")
+    public ResponseEntity<Student> update(@PathVariable final int id, @RequestBody final Student student) {
+
+        if (service.getStudent(id).isEmpty()) {
+            return ResponseEntity.notFound().build();
+        }
+
+        student.setId(id);
+
+        return ResponseEntity.ok(service.save(student));
+    }
+
+    @DeleteMapping("/{id}")
+    public ResponseEntity<Void> delete(@PathVariable final int id) {
+
+        if (service.getStudent(id).isEmpty()) {
+            return ResponseEntity.notFound().build();
+        }
+
+        service.delete(id);
+
+        return ResponseEntity.noContent().build();
+    }
+
+    /**
+     * The body must carry the {@code version} it was read with; a stale version is a 409.
+     */
+    @ExceptionHandler(ObjectOptimisticLockingFailureException.class)
+    @ResponseStatus(HttpStatus.CONFLICT)
+    public void conflict() {
+        // the student changed since the client read it; re-read and retry
+    }
+}
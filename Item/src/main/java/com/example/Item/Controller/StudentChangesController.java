@@ -0,0 +1,29 @@
+package com.example.Item.Controller;
+
+import com.example.Item.service.StudentChangeStream;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+/**
+ * Server-sent student changes, for pages and dashboards that would otherwise poll the list.
+ * Browsers' {@code EventSource} reconnects on its own and sends the {@code Last-Event-ID}.
+ */
+@RestController
+public class StudentChangesController {
+
+    private final StudentChangeStream stream;
+
+    @Autowired
+    public StudentChangesController(final StudentChangeStream stream) {
+        this.stream = stream;
+    }
+
+    @GetMapping(value = "/students/changes", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter changes(@RequestHeader(value = "Last-Event-ID", required = false) final String lastEventId) {
+        return stream.subscribe(lastEventId);
+    }
+}
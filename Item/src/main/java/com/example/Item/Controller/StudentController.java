@@ -1,18 +1,37 @@
 package com.example.Item.Controller;
 
 import com.example.Item.model.Student;
+import com.example.Item.model.StudentSummary;
+import com.example.Item.service.StudentListCache;
 import com.example.Item.service.StudentService;
+import com.example.Item.service.StudentWriteBehind;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Slice;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.security.web.csrf.CsrfToken;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
+import org.springframework.util.CollectionUtils;
 import org.springframework.validation.BindingResult;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.ModelAttribute;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestParam;
-
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.support.RedirectAttributes;
+import org.springframework.web.servlet.support.RequestContextUtils;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.util.List;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.concurrent.RejectedExecutionException;
 
 @Controller
 public class StudentController {
@@ -21,9 +40,16 @@ public class StudentController {
 
     private final StudentService service;
 
+    private final StudentListCache listCache;
+
+    private final Optional<StudentWriteBehind> writeBehind;
+
     @Autowired
-    public StudentController(final StudentService service) {
+    public StudentController(final StudentService service, final StudentListCache listCache,
+                             final Optional<StudentWriteBehind> writeBehind) {
         this.service = service;
+        this.listCache = listCache;
+        this.writeBehind = writeBehind;
     }
 
     @GetMapping("/students/")
@@ -33,9 +59,21 @@ public class StudentController {
 
     @GetMapping("/students/list")
     public String list(final Model model, @RequestParam(value = "page", defaultValue = "0") final int pageNumber,
-                       @RequestParam(value = "size", defaultValue = DEFAULT_PAGE_SIZE + "") final int pageSize) {
+                       @RequestParam(value = "size", defaultValue = DEFAULT_PAGE_SIZE + "") final int pageSize,
+                       @RequestParam(value = "after", required = false) final Integer after,
+                       @RequestParam(value = "before", required = false) final Integer before,
+                       final ServletWebRequest request) {
 
-        final Page<Student> page = service.getStudents(pageNumber, pageSize);
+        if (isNotModified(request)) {
+            return null;
+        }
+
+        if (after != null || before != null) {
+            return listByCursor(model, after, before, pageSize);
+        }
+
+        final Page<StudentSummary> page = listCache.get("page:" + pageNumber + ":" + pageSize,
+                () -> service.getStudents(pageNumber, pageSize));
 
         final int currentPageNumber = page.getNumber();
         final int previousPageNumber = page.hasPrevious() ? currentPageNumber - 1 : -1;
@@ -46,10 +84,116 @@ public class StudentController {
         model.addAttribute("nextPageNumber", nextPageNumber);
         model.addAttribute("currentPageNumber", currentPageNumber);
         model.addAttribute("pageSize", pageSize);
+        model.addAttribute("keyset", false);
+
+        return "students/list";
+    }
+
+    /**
+     * Keyset variant of {@link #list}: pages are addressed by the id of the neighbouring row
+     * instead of a page number, and cursors of {@code -1} mean there is nothing further that way.
+     */
+    private String listByCursor(final Model model, final Integer after, final Integer before, final int pageSize) {
+
+        final Slice<StudentSummary> slice = after != null
+                ? listCache.get("after:" + after + ":" + pageSize, () -> service.getStudentsAfter(after, pageSize))
+                : listCache.get("before:" + before + ":" + pageSize, () -> service.getStudentsBefore(before, pageSize));
+
+        addCursorAttributes(model, slice, after, pageSize);
 
         return "students/list";
     }
 
+    @GetMapping("/students/search")
+    public String search(final Model model, @RequestParam("q") final String query,
+                         @RequestParam(value = "size", defaultValue = DEFAULT_PAGE_SIZE + "") final int pageSize,
+                         @RequestParam(value = "after", required = false) final Integer after,
+                         @RequestParam(value = "before", required = false) final Integer before,
+                         final ServletWebRequest request) {
+
+        if (isNotModified(request)) {
+            return null;
+        }
+
+        final Integer cursor = before == null && after == null ? Integer.valueOf(0) : after;
+
+        final Slice<StudentSummary> slice = cursor != null
+                ? listCache.get("search-after:" + cursor + ":" + pageSize + ":" + query,
+                        () -> service.searchStudentsAfter(query, cursor, pageSize))
+                : listCache.get("search-before:" + before + ":" + pageSize + ":" + query,
+                        () -> service.searchStudentsBefore(query, before, pageSize));
+
+        addCursorAttributes(model, slice, cursor, pageSize);
+        model.addAttribute("query", query);
+
+        return "students/list";
+    }
+
+    /**
+     * Conditional GET for list and search pages. The ETag is the list cache version, which moves
+     * on with every write, combined with the URL and the session's CSRF token (the page embeds it
+     * in the logout form). A browser revisiting an unchanged page gets a 304 without any query
+     * or rendering.
+     */
+    private boolean isNotModified(final ServletWebRequest request) {
+
+        final HttpServletRequest servletRequest = request.getRequest();
+
+        // A flash message (e.g. after a batch operation) is not part of the ETag.
+        if (!CollectionUtils.isEmpty(RequestContextUtils.getInputFlashMap(servletRequest))) {
+            return false;
+        }
+
+        final Object csrfToken = servletRequest.getAttribute("_csrf");
+
+        final int hash = Objects.hash(servletRequest.getRequestURI(), servletRequest.getQueryString(),
+                csrfToken instanceof CsrfToken ? ((CsrfToken) csrfToken).getToken() : null);
+
+        final String etag = "W/\"" + listCache.getVersion() + "-" + Integer.toHexString(hash) + "\"";
+
+        if (request.checkNotModified(etag)) {
+            return true;
+        }
+
+        if (request.getResponse() != null) {
+            request.getResponse().setHeader(HttpHeaders.CACHE_CONTROL,
+                    CacheControl.noCache().cachePrivate().getHeaderValue());
+        }
+
+        return false;
+    }
+
+    /**
+     * @param after the cursor the slice was read after, or {@code null} when it was read before one
+     */
+    private static void addCursorAttributes(final Model model, final Slice<StudentSummary> slice, final Integer after,
+                                            final int pageSize) {
+
+        final List<StudentSummary> students = slice.getContent();
+
+        int previousCursor = -1;
+        int nextCursor = -1;
+
+        if (!students.isEmpty()) {
+            final int firstId = students.get(0).getId();
+            final int lastId = students.get(students.size() - 1).getId();
+
+            if (after != null) {
+                previousCursor = after > 0 ? firstId : -1;
+                nextCursor = slice.hasNext() ? lastId : -1;
+            } else {
+                previousCursor = slice.hasNext() ? firstId : -1;
+                nextCursor = lastId;
+            }
+        }
+
+        model.addAttribute("students", students);
+        model.addAttribute("previousCursor", previousCursor);
+        model.addAttribute("nextCursor", nextCursor);
+        model.addAttribute("pageSize", pageSize);
+        model.addAttribute("keyset", true);
+    }
+
     @GetMapping("/students/view")
     public String view(final Model model, @RequestParam int id) {
 
@@ -81,9 +225,29 @@ public class StudentController {
     }
 
     @PostMapping("/students/save")
-    public String save(final Model model, @ModelAttribute final Student student, final BindingResult errors) {
-
-        service.save(student);
+    public String save(final Model model, @ModelAttribute final Student student, final BindingResult errors,
+                       final HttpServletResponse response) {
+
+        try {
+            if (writeBehind.isPresent()) {
+                writeBehind.get().save(student);
+            } else {
+                service.save(student);
+            }
+        } catch (RejectedExecutionException e) {
+            throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, "Too many pending saves", e);
+        } catch (ObjectOptimisticLockingFailureException e) {
+            // Someone else saved (or deleted) the student since this form was loaded: show the
+            // current values instead of overwriting them.
+            final Optional<Student> current = service.getStudent(student.getId());
+
+            response.setStatus(HttpServletResponse.SC_CONFLICT);
+            model.addAttribute("student", current.isPresent() ? current.get() : new Student());
+            model.addAttribute("id", student.getId());
+            model.addAttribute("conflict", true);
+
+            return "students/edit";
+        }
 
         return "redirect:list";
     }
@@ -105,4 +269,28 @@ public class StudentController {
 
         return "redirect:list";
     }
+
+    @PostMapping("/students/batch-delete")
+    public String batchDeletion(@RequestParam(value = "ids", required = false) final List<Integer> ids,
+                                final RedirectAttributes redirect) {
+
+        final int affected = ids == null ? 0 : service.deleteAll(ids);
+
+        redirect.addFlashAttribute("message", affected + " student(s) deleted");
+
+        return "redirect:list";
+    }
+
+    @PostMapping("/students/batch-update")
+    public String batchUpdate(@RequestParam(value = "ids", required = false) final List<Integer> ids,
+                              @RequestParam(value = "firstName", required = false) final String firstName,
+                              @RequestParam(value = "lastName", required = false) final String lastName,
+                              final RedirectAttributes redirect) {
+
+        final int affected = ids == null ? 0 : service.updateAll(ids, firstName, lastName);
+
+        redirect.addFlashAttribute("message", affected + " student(s) updated");
+
+        return "redirect:list";
+    }
 }
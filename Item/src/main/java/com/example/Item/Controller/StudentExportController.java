@@ -0,0 +1,42 @@
+package com.example.Item.Controller;
+
+import com.example.Item.service.StudentExportService;
+import com.example.Item.service.StudentFormat;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.stereotype.Controller;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+
+import javax.servlet.http.HttpServletResponse;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+@Controller
+public class StudentExportController {
+
+    private final StudentExportService service;
+
+    @Autowired
+    public StudentExportController(final StudentExportService service) {
+        this.service = service;
+    }
+
+    @GetMapping("/students/export")
+    public void export(@RequestParam(value = "format", defaultValue = "CSV") final StudentFormat format,
+                       final HttpServletResponse response) throws IOException {
+
+        response.setContentType(format.getContentType());
+        response.setCharacterEncoding(UTF_8.name());
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION,
+                "attachment; filename=\"students." + format.name().toLowerCase() + "\"");
+
+        final Writer writer = new BufferedWriter(new OutputStreamWriter(response.getOutputStream(), UTF_8));
+
+        service.exportStudents(writer, format);
+    }
+}
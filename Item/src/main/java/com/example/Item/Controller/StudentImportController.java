@@ -0,0 +1,46 @@
+package com.example.Item.Controller;
+
+import com.example.Item.service.ImportReport;
+import com.example.Item.service.StudentFormat;
+import com.example.Item.service.StudentImportService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Controller;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.ResponseBody;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+@Controller
+public class StudentImportController {
+
+    private final StudentImportService service;
+
+    @Autowired
+    public StudentImportController(final StudentImportService service) {
+        this.service = service;
+    }
+
+    /**
+     * Imports the request body as it arrives, e.g.
+     * {@code curl -u user:pass -H 'Content-Type: text/csv' --data-binary @roster.csv /students/import}.
+     * A 500 still carries the report, with the rows committed before the failed batch.
+     */
+    @PostMapping("/students/import")
+    @ResponseBody
+    public ResponseEntity<ImportReport> importStudents(
+            @RequestParam(value = "format", defaultValue = "CSV") final StudentFormat format,
+            final InputStream body) throws IOException {
+
+        final ImportReport report = service.importStudents(new InputStreamReader(body, UTF_8), format);
+
+        return ResponseEntity.status(report.getFailure() == null ? HttpStatus.OK : HttpStatus.INTERNAL_SERVER_ERROR)
+                .body(report);
+    }
+}
@@ -0,0 +1,37 @@
+package com.example.Item.Controller;
+
+import com.example.Item.configuration.SignedTokens;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.security.core.Authentication;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Token for API clients in the stateless mode: authenticate once (e.g. HTTP Basic) and send the
+ * token as {@code Authorization: Bearer} afterwards, which skips the password check.
+ */
+@RestController
+@ConditionalOnProperty(name = "security.stateless.enabled", havingValue = "true")
+public class TokenController {
+
+    private final SignedTokens tokens;
+
+    @Autowired
+    public TokenController(final SignedTokens tokens) {
+        this.tokens = tokens;
+    }
+
+    @PostMapping("/api/token")
+    public Map<String, Object> token(final Authentication authentication) {
+
+        final Map<String, Object> body = new LinkedHashMap<>();
+        body.put("token", tokens.issue(authentication));
+        body.put("expiresIn", tokens.getTimeToLive().getSeconds());
+
+        return body;
+    }
+}
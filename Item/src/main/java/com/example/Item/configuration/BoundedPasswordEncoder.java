@@ -0,0 +1,91 @@
+package com.example.Item.configuration;
+
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.security.authentication.InternalAuthenticationServiceException;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.time.Duration;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+/**
+ * Runs the hashing of a delegate {@link PasswordEncoder} on a dedicated, bounded executor.
+ * <p>
+ * The calling request thread still waits for the result, but at most as many hashes as the
+ * executor has threads are computed at once, so a login storm cannot take every CPU away from
+ * the rest of the application. A request thread waits at most {@code timeout}, and when the
+ * executor queue is full the attempt fails at once. The queue must stay well below the number
+ * of request threads, or a storm parks all of them here.
+ */
+public class BoundedPasswordEncoder implements PasswordEncoder, DisposableBean {
+
+    private final PasswordEncoder delegate;
+
+    private final ExecutorService executor;
+
+    private final Duration timeout;
+
+    public BoundedPasswordEncoder(final PasswordEncoder delegate, final int threads, final int queueCapacity,
+                                  final Duration timeout) {
+        this.delegate = delegate;
+        this.timeout = timeout;
+        this.executor = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), new CustomizableThreadFactory("bcrypt-"));
+    }
+
+    @Override
+    public String encode(final CharSequence rawPassword) {
+        return call(() -> delegate.encode(rawPassword));
+    }
+
+    @Override
+    public boolean matches(final CharSequence rawPassword, final String encodedPassword) {
+        return call(() -> delegate.matches(rawPassword, encodedPassword));
+    }
+
+    @Override
+    public boolean upgradeEncoding(final String encodedPassword) {
+        return delegate.upgradeEncoding(encodedPassword);
+    }
+
+    private <T> T call(final Supplier<T> task) {
+
+        final CompletableFuture<T> future;
+
+        try {
+            future = CompletableFuture.supplyAsync(task, executor);
+        } catch (RejectedExecutionException e) {
+            throw new InternalAuthenticationServiceException("Too many concurrent password checks", e);
+        }
+
+        try {
+            return future.get(timeout.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            future.cancel(false);
+            Thread.currentThread().interrupt();
+            throw new InternalAuthenticationServiceException("Interrupted while checking password", e);
+        } catch (TimeoutException e) {
+            // Still queued, the cancelled check is skipped rather than hashed for nobody.
+            future.cancel(false);
+            throw new InternalAuthenticationServiceException("Password check took longer than " + timeout, e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+
+    @Override
+    public void destroy() {
+        executor.shutdown();
+    }
+}
@@ -0,0 +1,64 @@
+package com.example.Item.configuration;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.caffeine.CaffeineCache;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.cache.transaction.TransactionAwareCacheManagerProxy;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.security.core.userdetails.UserCache;
+import org.springframework.security.core.userdetails.cache.SpringCacheBasedUserCache;
+
+import java.time.Duration;
+
+/**
+ * The cache advice wraps the transaction advice: a cache hit does not open a transaction (or take
+ * a connection), and {@code @CachePut} results are cached only after the transaction committed.
+ * When the method joins an enclosing transaction (e.g. a write-behind group), the cache itself
+ * defers puts and evictions until that one commits, and drops them on rollback.
+ */
+@Configuration
+@EnableCaching(order = Ordered.HIGHEST_PRECEDENCE)
+public class Caching {
+
+    public static final String STUDENTS = "students";
+
+    public static final String USERS = "users";
+
+    /**
+     * Bounded, TTL-evicted cache of student records keyed by id. Statistics are recorded so the
+     * hit/miss/eviction counters show up under {@code /actuator/metrics/cache.gets} and friends.
+     * Transaction-aware, see the class comment.
+     */
+    @Bean
+    public CacheManager cacheManager(@Value("${students.cache.maximum-size:10000}") final long maximumSize,
+                                     @Value("${students.cache.time-to-live-seconds:600}") final long timeToLive) {
+
+        final CaffeineCacheManager cacheManager = new CaffeineCacheManager(STUDENTS);
+
+        cacheManager.setCaffeine(Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(Duration.ofSeconds(timeToLive))
+                .recordStats());
+
+        return new TransactionAwareCacheManagerProxy(cacheManager);
+    }
+
+    /**
+     * Authenticated {@code UserDetails} by username, so repeated logins skip the user lookup.
+     * Kept apart from {@link #cacheManager} because it needs its own, shorter, time-to-live.
+     */
+    @Bean
+    public UserCache userCache(@Value("${users.cache.maximum-size:1000}") final long maximumSize,
+                               @Value("${users.cache.time-to-live-seconds:300}") final long timeToLive) {
+
+        return new SpringCacheBasedUserCache(new CaffeineCache(USERS, Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(Duration.ofSeconds(timeToLive))
+                .build()));
+    }
+}
@@ -0,0 +1,92 @@
+package com.example.Item.configuration;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.SecureRandom;
+import java.time.Duration;
+
+/**
+ * Remembers successful {@link #matches} of a slow delegate (BCrypt) for a short time, so that
+ * clients that send HTTP Basic credentials with every request pay for the hash once per
+ * time-to-live instead of on every request.
+ * <p>
+ * Entries are keyed by an HMAC of the stored hash and the raw password, under a key drawn
+ * at startup: neither password nor a plain fast hash of it is kept in memory, and changing
+ * the password (a new stored hash) misses the cache. Failed checks are never cached.
+ */
+public class CachingPasswordEncoder implements PasswordEncoder {
+
+    private static final String ALGORITHM = "HmacSHA256";
+
+    private final PasswordEncoder delegate;
+
+    private final SecretKeySpec key;
+
+    private final Cache<ByteBuffer, Boolean> verified;
+
+    public CachingPasswordEncoder(final PasswordEncoder delegate, final Duration timeToLive, final long maximumSize) {
+
+        final byte[] secret = new byte[32];
+
+        new SecureRandom().nextBytes(secret);
+
+        this.delegate = delegate;
+        this.key = new SecretKeySpec(secret, ALGORITHM);
+        this.verified = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(timeToLive)
+                .build();
+    }
+
+    @Override
+    public String encode(final CharSequence rawPassword) {
+        return delegate.encode(rawPassword);
+    }
+
+    @Override
+    public boolean matches(final CharSequence rawPassword, final String encodedPassword) {
+
+        if (rawPassword == null || encodedPassword == null) {
+            return delegate.matches(rawPassword, encodedPassword);
+        }
+
+        final ByteBuffer fingerprint = fingerprint(rawPassword, encodedPassword);
+
+        if (verified.getIfPresent(fingerprint) != null) {
+            return true;
+        }
+
+        final boolean matches = delegate.matches(rawPassword, encodedPassword);
+
+        if (matches) {
+            verified.put(fingerprint, Boolean.TRUE);
+        }
+
+        return matches;
+    }
+
+    @Override
+    public boolean upgradeEncoding(final String encodedPassword) {
+        return delegate.upgradeEncoding(encodedPassword);
+    }
+
+    private ByteBuffer fingerprint(final CharSequence rawPassword, final String encodedPassword) {
+        try {
+            final Mac mac = Mac.getInstance(ALGORITHM);
+            mac.init(key);
+            mac.update(encodedPassword.getBytes(StandardCharsets.UTF_8));
+            mac.update((byte) 0);
+
+            return ByteBuffer.wrap(mac.doFinal(rawPassword.toString().getBytes(StandardCharsets.UTF_8)));
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,58 @@
+package com.example.Item.configuration;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.orm.jpa.JpaTransactionManager;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.AbstractPlatformTransactionManager;
+import org.springframework.transaction.support.DefaultTransactionStatus;
+
+import javax.persistence.EntityManagerFactory;
+
+/**
+ * Transactions with {@code students.store.type=memory}. The student store has nothing to commit,
+ * so {@code @Transactional} student methods (and the write-behind) get a transaction manager that
+ * holds no resources: no database connection is taken, while synchronizations - after-commit
+ * listeners, the transaction-aware cache - still run.
+ * <p>
+ * Users stay in the database. Spring Data repositories look up {@code transactionManager} by
+ * name, so the JPA one is still registered under that name for them.
+ */
+@Configuration
+@ConditionalOnProperty(name = "students.store.type", havingValue = "memory")
+public class InMemoryTransactions {
+
+    @Bean
+    public JpaTransactionManager transactionManager(final EntityManagerFactory entityManagerFactory) {
+        return new JpaTransactionManager(entityManagerFactory);
+    }
+
+    @Bean
+    @Primary
+    public PlatformTransactionManager studentTransactionManager() {
+        return new ResourcelessTransactionManager();
+    }
+
+    static final class ResourcelessTransactionManager extends AbstractPlatformTransactionManager {
+
+        @Override
+        protected Object doGetTransaction() {
+            return new Object();
+        }
+
+        @Override
+        protected void doBegin(final Object transaction, final TransactionDefinition definition) {
+        }
+
+        @Override
+        protected void doCommit(final DefaultTransactionStatus status) {
+        }
+
+        @Override
+        protected void doRollback(final DefaultTransactionStatus status) {
+        }
+    }
+}
@@ -0,0 +1,78 @@
+package com.example.Item.configuration;
+
+import io.micrometer.core.aop.TimedAspect;
+import io.micrometer.core.instrument.MeterRegistry;
+import net.ttddyy.dsproxy.support.ProxyDataSourceBuilder;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import javax.sql.DataSource;
+
+@Configuration
+public class Metrics implements WebMvcConfigurer {
+
+    private final MeterRegistry registry;
+
+    private final QueryCounter queryCounter;
+
+    @Autowired
+    public Metrics(final MeterRegistry registry, final QueryCounter queryCounter) {
+        this.registry = registry;
+        this.queryCounter = queryCounter;
+    }
+
+    /**
+     * Makes {@code @Timed} on {@code StudentService} methods publish {@code students.service} timers.
+     */
+    @Bean
+    public TimedAspect timedAspect() {
+        return new TimedAspect(registry);
+    }
+
+    @Bean
+    public static QueryCounter queryCounter() {
+        return new QueryCounter();
+    }
+
+    /**
+     * Wraps the datasource the application uses, so the {@link QueryCounter} (and the
+     * {@link SlowQueryListener}, when {@link SlowQueryLog} is enabled) sees every statement and
+     * result set. One proxy for both, so each statement is intercepted once.
+     */
+    @Bean
+    public static BeanPostProcessor queryCounterDataSourceWrapper(final ObjectProvider<QueryCounter> queryCounter,
+                                                                  final ObjectProvider<SlowQueryListener> slowQueries) {
+
+        return new BeanPostProcessor() {
+
+            @Override
+            public Object postProcessAfterInitialization(final Object bean, final String beanName) {
+
+                // Not the primary and replica pools behind it, or every statement would count twice.
+                if (!(bean instanceof DataSource) || !"dataSource".equals(beanName)) {
+                    return bean;
+                }
+
+                final ProxyDataSourceBuilder proxy = ProxyDataSourceBuilder.create((DataSource) bean)
+                        .name(beanName)
+                        .listener(queryCounter.getObject())
+                        .proxyResultSet(queryCounter.getObject());
+
+                slowQueries.ifAvailable(proxy::listener);
+
+                return proxy.build();
+            }
+        };
+    }
+
+    @Override
+    public void addInterceptors(final InterceptorRegistry interceptors) {
+        interceptors.addInterceptor(new QueryMetricsInterceptor(registry, queryCounter))
+                .excludePathPatterns(Web.ASSETS);
+    }
+}
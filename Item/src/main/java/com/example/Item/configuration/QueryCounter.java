@@ -0,0 +1,111 @@
+package com.example.Item.configuration;
+
+import net.ttddyy.dsproxy.ConnectionInfo;
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+import net.ttddyy.dsproxy.proxy.MethodUtils;
+import net.ttddyy.dsproxy.proxy.ProxyConfig;
+import net.ttddyy.dsproxy.proxy.ResultSetProxyLogic;
+import net.ttddyy.dsproxy.proxy.ResultSetProxyLogicFactory;
+
+import java.sql.ResultSet;
+import java.util.List;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Counts the SQL statements executed (a JDBC batch once) and the result set rows read, at the
+ * JDBC level: {@link Metrics} wraps the datasource with this as listener and result set proxy, so
+ * entity loads, projections and the plain JDBC paths are all seen.
+ * <p>
+ * The statements and rows go to the {@link Counts} bound to the current thread.
+ * {@link QueryMetricsInterceptor} binds one per web request; work handed to another thread
+ * carries it along with {@link #wrap}.
+ */
+public class QueryCounter implements QueryExecutionListener, ResultSetProxyLogicFactory {
+
+    private final ThreadLocal<Counts> current = new ThreadLocal<>();
+
+    public void bind(final Counts counts) {
+        current.set(counts);
+    }
+
+    public void unbind() {
+        current.remove();
+    }
+
+    /**
+     * @return the task, counting into the counts bound to the calling thread wherever it runs
+     */
+    public <T> Supplier<T> wrap(final Supplier<T> task) {
+
+        final Counts counts = current.get();
+
+        if (counts == null) {
+            return task;
+        }
+
+        return () -> {
+            final Counts previous = current.get();
+
+            current.set(counts);
+            try {
+                return task.get();
+            } finally {
+                current.set(previous);
+            }
+        };
+    }
+
+    @Override
+    public void beforeQuery(final ExecutionInfo execInfo, final List<QueryInfo> queryInfoList) {
+    }
+
+    @Override
+    public void afterQuery(final ExecutionInfo execInfo, final List<QueryInfo> queryInfoList) {
+
+        final Counts counts = current.get();
+
+        if (counts != null) {
+            counts.statements.increment();
+        }
+    }
+
+    /**
+     * Counts the rows as {@code next()} moves onto them, into the counts bound when the result set
+     * was opened.
+     */
+    @Override
+    public ResultSetProxyLogic create(final ResultSet resultSet, final ConnectionInfo connectionInfo,
+                                      final ProxyConfig proxyConfig) {
+
+        final Counts counts = current.get();
+
+        return (method, args) -> {
+
+            final Object result = MethodUtils.proceedExecution(method, resultSet, args);
+
+            if (counts != null && Boolean.TRUE.equals(result) && "next".equals(method.getName())) {
+                counts.rows.increment();
+            }
+
+            return result;
+        };
+    }
+
+    public static final class Counts {
+
+        private final LongAdder statements = new LongAdder();
+
+        private final LongAdder rows = new LongAdder();
+
+        public long getStatements() {
+            return statements.sum();
+        }
+
+        public long getRows() {
+            return rows.sum();
+        }
+    }
+}
@@ -0,0 +1,86 @@
+package com.example.Item.configuration;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.AsyncHandlerInterceptor;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+/**
+ * Records per request, tagged with the handler method, how many SQL statements were executed
+ * and how many rows were read, view rendering included. The counts live in a request attribute,
+ * so an asynchronous request adds up its first dispatch, the work on other threads and the
+ * dispatch that completes it.
+ */
+public class QueryMetricsInterceptor implements AsyncHandlerInterceptor {
+
+    static final String STATEMENTS = "students.request.sql.statements";
+
+    static final String ROWS = "students.request.sql.rows";
+
+    private static final String COUNTS = QueryMetricsInterceptor.class.getName() + ".counts";
+
+    private final MeterRegistry registry;
+
+    private final QueryCounter counter;
+
+    public QueryMetricsInterceptor(final MeterRegistry registry, final QueryCounter counter) {
+        this.registry = registry;
+        this.counter = counter;
+    }
+
+    @Override
+    public boolean preHandle(final HttpServletRequest request, final HttpServletResponse response,
+                             final Object handler) {
+
+        QueryCounter.Counts counts = (QueryCounter.Counts) request.getAttribute(COUNTS);
+
+        if (counts == null) {
+            counts = new QueryCounter.Counts();
+            request.setAttribute(COUNTS, counts);
+        }
+
+        counter.bind(counts);
+
+        return true;
+    }
+
+    @Override
+    public void afterConcurrentHandlingStarted(final HttpServletRequest request, final HttpServletResponse response,
+                                               final Object handler) {
+        counter.unbind();
+    }
+
+    @Override
+    public void afterCompletion(final HttpServletRequest request, final HttpServletResponse response,
+                                final Object handler, final Exception ex) {
+
+        counter.unbind();
+
+        final QueryCounter.Counts counts = (QueryCounter.Counts) request.getAttribute(COUNTS);
+
+        if (!(handler instanceof HandlerMethod) || counts == null) {
+            return;
+        }
+
+        final HandlerMethod method = (HandlerMethod) handler;
+        final String controller = method.getBeanType().getSimpleName();
+        final String name = method.getMethod().getName();
+
+        summary(STATEMENTS, "SQL statements executed per request, a JDBC batch counting once", controller, name)
+                .record(counts.getStatements());
+        summary(ROWS, "Result set rows read per request, whether as entities, projections or plain JDBC",
+                controller, name).record(counts.getRows());
+    }
+
+    private DistributionSummary summary(final String meter, final String description, final String controller,
+                                        final String method) {
+        return DistributionSummary.builder(meter)
+                .description(description)
+                .tag("controller", controller)
+                .tag("method", method)
+                .register(registry);
+    }
+}
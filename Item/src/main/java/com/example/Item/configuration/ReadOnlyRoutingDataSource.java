@@ -0,0 +1,55 @@
+package com.example.Item.configuration;
+
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * Sends connections for read-only transactions to the replica and everything else to the
+ * primary. The transaction's read-only flag is only known once it has started, so this has to sit
+ * behind a {@link org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy}, which
+ * defers fetching the connection to the first statement.
+ * <p>
+ * Reads whose result is cached run {@link #onPrimary}: a replica that has not caught up with a
+ * write yet would otherwise put the old row back into the cache, where it outlives the lag.
+ */
+public class ReadOnlyRoutingDataSource extends AbstractRoutingDataSource {
+
+    enum Target { PRIMARY, REPLICA }
+
+    private static final ThreadLocal<Boolean> PRIMARY_REQUIRED = new ThreadLocal<>();
+
+    public ReadOnlyRoutingDataSource(final DataSource primary, final DataSource replica) {
+        setTargetDataSources(Map.of(Target.PRIMARY, primary, Target.REPLICA, replica));
+        setDefaultTargetDataSource(primary);
+        afterPropertiesSet();
+    }
+
+    /**
+     * Runs the read with read-only transactions on the primary as well. Nothing changes without a
+     * replica.
+     */
+    public static <T> T onPrimary(final Supplier<T> read) {
+
+        if (PRIMARY_REQUIRED.get() != null) {
+            return read.get();
+        }
+
+        PRIMARY_REQUIRED.set(Boolean.TRUE);
+
+        try {
+            return read.get();
+        } finally {
+            PRIMARY_REQUIRED.remove();
+        }
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        return TransactionSynchronizationManager.isCurrentTransactionReadOnly() && PRIMARY_REQUIRED.get() == null
+                ? Target.REPLICA : Target.PRIMARY;
+    }
+}
@@ -0,0 +1,58 @@
+package com.example.Item.configuration;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+
+/**
+ * Read replica, enabled by setting {@code students.replica.url}: read-only transactions
+ * ({@code @Transactional(readOnly = true)}, e.g. the {@code StudentService} reads and the export)
+ * use the replica pool, everything else the primary. Reads routed here may lag behind writes by
+ * the replication delay, so reads that fill a cache stay on the primary (see
+ * {@link ReadOnlyRoutingDataSource#onPrimary}). {@code students.replica.hikari.*} tunes the
+ * replica pool.
+ */
+@Configuration
+@ConditionalOnProperty("students.replica.url")
+public class ReplicaRouting {
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(final DataSourceProperties properties) {
+        return properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+    }
+
+    @Bean
+    @ConfigurationProperties("students.replica.hikari")
+    public HikariDataSource replicaDataSource(final DataSourceProperties properties,
+                                              @Value("${students.replica.url}") final String url,
+                                              @Value("${students.replica.username:${spring.datasource.username:}}") final String username,
+                                              @Value("${students.replica.password:${spring.datasource.password:}}") final String password) {
+
+        final HikariDataSource dataSource = new HikariDataSource();
+        dataSource.setPoolName("students-replica");
+        dataSource.setDriverClassName(properties.determineDriverClassName());
+        dataSource.setJdbcUrl(url);
+        dataSource.setUsername(username);
+        dataSource.setPassword(password);
+        dataSource.setReadOnly(true);
+
+        return dataSource;
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(@Qualifier("primaryDataSource") final DataSource primary,
+                                 @Qualifier("replicaDataSource") final DataSource replica) {
+        return new LazyConnectionDataSourceProxy(new ReadOnlyRoutingDataSource(primary, replica));
+    }
+}
@@ -2,28 +2,86 @@ package com.example.Item.configuration;
 
 import com.example.Item.model.User;
 import com.example.Item.service.UserService;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.ApplicationRunner;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.HttpHeaders;
 import org.springframework.security.authentication.AuthenticationProvider;
 import org.springframework.security.authentication.dao.DaoAuthenticationProvider;
 import org.springframework.security.config.annotation.authentication.builders.AuthenticationManagerBuilder;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.builders.WebSecurity;
 import org.springframework.security.config.annotation.web.configuration.WebSecurityConfigurerAdapter;
+import org.springframework.security.config.http.SessionCreationPolicy;
+import org.springframework.security.core.userdetails.UserCache;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.security.web.authentication.AuthenticationSuccessHandler;
+import org.springframework.security.web.authentication.SimpleUrlAuthenticationFailureHandler;
+import org.springframework.security.web.authentication.SimpleUrlAuthenticationSuccessHandler;
+import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
+import org.springframework.security.web.csrf.CookieCsrfTokenRepository;
+import org.springframework.security.web.savedrequest.NullRequestCache;
+import org.springframework.security.web.util.matcher.RequestMatcher;
+
+import java.time.Duration;
 
 @Configuration
 public class Security extends WebSecurityConfigurerAdapter {
 
+    /**
+     * Requests that authenticate with their own {@code Authorization} header (API clients, the
+     * import) skip the CSRF check: a cross-site form post cannot set that header. Requests that
+     * rely on the session or token cookie keep the check, whatever their path.
+     */
+    static final RequestMatcher CREDENTIALS_HEADER = request -> {
+
+        final String header = request.getHeader(HttpHeaders.AUTHORIZATION);
+
+        return header != null && (header.regionMatches(true, 0, "Basic ", 0, 6)
+                || header.regionMatches(true, 0, "Bearer ", 0, 7));
+    };
+
     @Autowired
     private UserService service;
 
+    @Autowired
+    private UserCache userCache;
+
+    @Autowired
+    private ObjectProvider<SignedTokens> signedTokens;
+
+    @Value("${security.bcrypt.strength:10}")
+    private int bcryptStrength;
+
+    @Value("${security.bcrypt.threads:2}")
+    private int bcryptThreads;
+
+    @Value("${security.bcrypt.queue-capacity:4}")
+    private int bcryptQueueCapacity;
+
+    @Value("${security.bcrypt.timeout-ms:1000}")
+    private long bcryptTimeout;
+
+    @Value("${security.bcrypt.verified-cache-seconds:60}")
+    private long verifiedCacheSeconds;
+
+    @Value("${security.bcrypt.verified-cache-size:1000}")
+    private long verifiedCacheSize;
+
+    @Value("${server.undertow.threads.worker:0}")
+    private int workerThreads;
+
+    @Value("${students.virtual-threads.enabled:false}")
+    private boolean virtualThreads;
+
     @Override
     public void configure(final WebSecurity web) throws Exception {
-        web.ignoring().antMatchers("/h2-console/**");
+        // Static assets skip the whole filter chain; they are public and carry no session.
+        web.ignoring().antMatchers("/h2-console/**", Web.ASSETS);
     }
 
     @Override
@@ -35,10 +93,58 @@ public class Security extends WebSecurityConfigurerAdapter {
                 .logout()
                 .permitAll()
                 .and()
+                .httpBasic()
+                .and()
+                .csrf()
+                .ignoringRequestMatchers(CREDENTIALS_HEADER)
+                .and()
                 .authorizeRequests()
                 .antMatchers("/**").hasRole("USER")
         ;
         // @formatter:on
+
+        final SignedTokens tokens = signedTokens.getIfAvailable();
+
+        if (tokens != null) {
+            configureStateless(http, tokens);
+        }
+    }
+
+    /**
+     * Stateless mode: login sets a signed token cookie instead of creating a session, and every
+     * request is authenticated from that token alone. Nothing is kept in the session any more -
+     * not the security context, the saved request or the CSRF token (a cookie as well).
+     */
+    private void configureStateless(final HttpSecurity http, final SignedTokens tokens) throws Exception {
+
+        final AuthenticationSuccessHandler redirect = new SimpleUrlAuthenticationSuccessHandler("/students/");
+
+        final SimpleUrlAuthenticationFailureHandler failure = new SimpleUrlAuthenticationFailureHandler("/login?error");
+        failure.setAllowSessionCreation(false);
+
+        // @formatter:off
+        http.sessionManagement()
+                .sessionCreationPolicy(SessionCreationPolicy.STATELESS)
+                .and()
+                .requestCache()
+                .requestCache(new NullRequestCache())
+                .and()
+                .csrf()
+                .csrfTokenRepository(new CookieCsrfTokenRepository())
+                .and()
+                .formLogin()
+                .successHandler((request, response, authentication) -> {
+                    tokens.addCookie(request, response, tokens.issue(authentication));
+                    redirect.onAuthenticationSuccess(request, response, authentication);
+                })
+                .failureHandler(failure)
+                .and()
+                .logout()
+                .deleteCookies(SignedTokens.COOKIE)
+                .and()
+                .addFilterBefore(new TokenAuthenticationFilter(tokens), UsernamePasswordAuthenticationFilter.class)
+        ;
+        // @formatter:on
     }
 
     @Override
@@ -53,13 +159,34 @@ public class Security extends WebSecurityConfigurerAdapter {
 
         authenticationProvider.setPasswordEncoder(passwordEncoder());
         authenticationProvider.setUserDetailsService(service);
+        authenticationProvider.setUserCache(userCache);
+        // The cached UserDetails must not end up as the principal, or erasing the credentials
+        // of the authentication would wipe the password hash of the cache entry.
+        authenticationProvider.setForcePrincipalAsString(true);
 
         return authenticationProvider;
     }
 
+    /**
+     * BCrypt on a bounded executor, behind a short-lived cache of successful checks so that
+     * HTTP Basic clients do not hash on every request. Every login that waits for a hash holds
+     * an Undertow worker, so hashing threads plus queue must leave workers over for the rest.
+     */
     @Bean
     public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+
+        // Undertow's default: 8 workers per I/O thread, one I/O thread per core (at least 2).
+        final int workers = workerThreads > 0 ? workerThreads
+                : Math.max(Runtime.getRuntime().availableProcessors(), 2) * 8;
+
+        if (!virtualThreads && bcryptThreads + bcryptQueueCapacity >= workers) {
+            throw new IllegalStateException("security.bcrypt.threads + security.bcrypt.queue-capacity ("
+                    + (bcryptThreads + bcryptQueueCapacity) + ") must stay below the " + workers + " worker threads");
+        }
+
+        return new CachingPasswordEncoder(new BoundedPasswordEncoder(new BCryptPasswordEncoder(bcryptStrength),
+                bcryptThreads, bcryptQueueCapacity, Duration.ofMillis(bcryptTimeout)),
+                Duration.ofSeconds(verifiedCacheSeconds), verifiedCacheSize);
     }
 
     @Bean
@@ -0,0 +1,287 @@
+package com.example.Item.configuration;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseCookie;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.stereotype.Component;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.stream.Collectors;
+
+/**
+ * Short-lived HS256 JSON Web Tokens that carry the user name and roles, for the stateless mode
+ * ({@code security.stateless.enabled=true}). Verifying one needs neither the database nor a
+ * session, so any node can serve any request.
+ * <p>
+ * Keys are configured as {@code security.token.keys=<id>:<base64 secret>,...}. The first key
+ * signs new tokens; all of them verify tokens carrying their id. To rotate, put a new key in
+ * front, and drop the old one once the tokens it signed have expired.
+ * <p>
+ * Renewed tokens keep the time of the login ({@code oiat}), and none is valid past
+ * {@code security.token.max-age-seconds} after it, however active the user is: then they have
+ * to log in again, which also picks up changed roles or a disabled account.
+ */
+@Component
+@ConditionalOnProperty(name = "security.stateless.enabled", havingValue = "true")
+public class SignedTokens {
+
+    public static final String COOKIE = "STUDENTS_TOKEN";
+
+    private static final String ALGORITHM = "HmacSHA256";
+
+    private static final int MINIMUM_KEY_BYTES = 32;
+
+    private static final Base64.Encoder ENCODER = Base64.getUrlEncoder().withoutPadding();
+
+    private static final Base64.Decoder DECODER = Base64.getUrlDecoder();
+
+    private final ObjectMapper mapper;
+
+    private final Map<String, SecretKeySpec> keys = new LinkedHashMap<>();
+
+    private final String signingKeyId;
+
+    private final Duration timeToLive;
+
+    private final Duration maxAge;
+
+    private final Clock clock;
+
+    @Autowired
+    public SignedTokens(final ObjectMapper mapper,
+                        @Value("${security.token.keys:}") final String keys,
+                        @Value("${security.token.ttl-seconds:900}") final long timeToLive,
+                        @Value("${security.token.max-age-seconds:28800}") final long maxAge) {
+        this(mapper, keys, Duration.ofSeconds(timeToLive), Duration.ofSeconds(maxAge), Clock.systemUTC());
+    }
+
+    SignedTokens(final ObjectMapper mapper, final String keys, final Duration timeToLive, final Duration maxAge,
+                 final Clock clock) {
+
+        this.mapper = mapper;
+        this.timeToLive = timeToLive;
+        this.maxAge = maxAge;
+        this.clock = clock;
+
+        for (String key : keys.split(",")) {
+
+            final int separator = key.indexOf(':');
+
+            if (separator <= 0) {
+                throw new IllegalStateException("security.token.keys must list <id>:<base64 secret> pairs");
+            }
+
+            final byte[] secret = Base64.getDecoder().decode(key.substring(separator + 1).trim());
+
+            if (secret.length < MINIMUM_KEY_BYTES) {
+                throw new IllegalStateException("Token key " + key.substring(0, separator).trim()
+                        + " is shorter than " + MINIMUM_KEY_BYTES + " bytes");
+            }
+
+            this.keys.put(key.substring(0, separator).trim(), new SecretKeySpec(secret, ALGORITHM));
+        }
+
+        this.signingKeyId = this.keys.keySet().iterator().next();
+    }
+
+    public Duration getTimeToLive() {
+        return timeToLive;
+    }
+
+    /**
+     * A fresh token after a login, or a renewal when the authentication came from a token.
+     */
+    public String issue(final Authentication authentication) {
+
+        if (authentication.getDetails() instanceof Token) {
+            return renew((Token) authentication.getDetails());
+        }
+
+        return issue(authentication.getName(), authentication.getAuthorities());
+    }
+
+    public String issue(final String username, final Collection<? extends GrantedAuthority> authorities) {
+        return issue(username, authorities, clock.instant().getEpochSecond());
+    }
+
+    /**
+     * @return a token for the same user and roles and login time, which expires no later than
+     * {@code max-age} after that login
+     */
+    public String renew(final Token token) {
+        return issue(token.getUsername(), token.getAuthorities(), token.getOriginallyIssuedAt().getEpochSecond());
+    }
+
+    private String issue(final String username, final Collection<? extends GrantedAuthority> authorities,
+                         final long originallyIssuedAt) {
+
+        final long now = clock.instant().getEpochSecond();
+
+        final Map<String, Object> header = new LinkedHashMap<>();
+        header.put("alg", "HS256");
+        header.put("typ", "JWT");
+        header.put("kid", signingKeyId);
+
+        final Map<String, Object> claims = new LinkedHashMap<>();
+        claims.put("sub", username);
+        claims.put("roles", authorities.stream().map(GrantedAuthority::getAuthority).collect(Collectors.toList()));
+        claims.put("iat", now);
+        claims.put("oiat", originallyIssuedAt);
+        claims.put("exp", Math.min(now + timeToLive.getSeconds(), originallyIssuedAt + maxAge.getSeconds()));
+
+        final String signed = encode(header) + "." + encode(claims);
+
+        return signed + "." + ENCODER.encodeToString(sign(keys.get(signingKeyId), signed));
+    }
+
+    /**
+     * @return the token's contents, or empty when it is malformed, forged, signed with an
+     * unknown key, expired or older than {@code max-age}
+     */
+    public Optional<Token> verify(final String token) {
+
+        final String[] parts = token.split("\\.", -1);
+
+        if (parts.length != 3) {
+            return Optional.empty();
+        }
+
+        try {
+            final JsonNode header = mapper.readTree(DECODER.decode(parts[0]));
+            final SecretKeySpec key = keys.get(header.path("kid").asText());
+
+            if (key == null || !"HS256".equals(header.path("alg").asText())) {
+                return Optional.empty();
+            }
+
+            final byte[] signature = sign(key, parts[0] + "." + parts[1]);
+
+            if (!MessageDigest.isEqual(signature, DECODER.decode(parts[2]))) {
+                return Optional.empty();
+            }
+
+            final JsonNode claims = mapper.readTree(DECODER.decode(parts[1]));
+            final Instant issuedAt = Instant.ofEpochSecond(claims.path("iat").asLong());
+            final Instant originallyIssuedAt = claims.has("oiat")
+                    ? Instant.ofEpochSecond(claims.path("oiat").asLong()) : issuedAt;
+            final Instant expiresAt = Instant.ofEpochSecond(claims.path("exp").asLong());
+
+            if (!clock.instant().isBefore(expiresAt) || !clock.instant().isBefore(originallyIssuedAt.plus(maxAge))) {
+                return Optional.empty();
+            }
+
+            final List<GrantedAuthority> authorities = new ArrayList<>();
+
+            claims.path("roles").forEach(role -> authorities.add(new SimpleGrantedAuthority(role.asText())));
+
+            return Optional.of(new Token(claims.path("sub").asText(), authorities, originallyIssuedAt, issuedAt,
+                    expiresAt));
+        } catch (IOException | IllegalArgumentException e) {
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * Whether more than half of the token's lifetime has passed, so that an active user gets a
+     * fresh one before it runs out. Never once a renewal would not outlive it, at the end of
+     * {@code max-age}.
+     */
+    public boolean isDueForRenewal(final Token token) {
+        return clock.instant().isAfter(token.getIssuedAt().plus(timeToLive.dividedBy(2)))
+                && token.getExpiresAt().isBefore(token.getOriginallyIssuedAt().plus(maxAge));
+    }
+
+    public void addCookie(final HttpServletRequest request, final HttpServletResponse response, final String token) {
+        response.addHeader(HttpHeaders.SET_COOKIE, cookie(request, token, timeToLive).toString());
+    }
+
+    public void clearCookie(final HttpServletRequest request, final HttpServletResponse response) {
+        response.addHeader(HttpHeaders.SET_COOKIE, cookie(request, "", Duration.ZERO).toString());
+    }
+
+    private static ResponseCookie cookie(final HttpServletRequest request, final String value, final Duration maxAge) {
+        return ResponseCookie.from(COOKIE, value)
+                .path(request.getContextPath() + "/")
+                .httpOnly(true)
+                .secure(request.isSecure())
+                .sameSite("Lax")
+                .maxAge(maxAge)
+                .build();
+    }
+
+    private String encode(final Map<String, Object> json) {
+        try {
+            return ENCODER.encodeToString(mapper.writeValueAsBytes(json));
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static byte[] sign(final SecretKeySpec key, final String content) {
+        try {
+            final Mac mac = Mac.getInstance(ALGORITHM);
+            mac.init(key);
+
+            return mac.doFinal(content.getBytes(StandardCharsets.US_ASCII));
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    @Getter
+    @AllArgsConstructor(access = AccessLevel.PRIVATE)
+    public static final class Token {
+
+        private final String username;
+
+        private final List<GrantedAuthority> authorities;
+
+        private final Instant originallyIssuedAt;
+
+        private final Instant issuedAt;
+
+        private final Instant expiresAt;
+
+        /**
+         * @return an authentication that carries this token as details, so that
+         * {@link #issue(Authentication)} renews it instead of starting a new login
+         */
+        public Authentication toAuthentication() {
+
+            final UsernamePasswordAuthenticationToken authentication =
+                    new UsernamePasswordAuthenticationToken(username, null, authorities);
+
+            authentication.setDetails(this);
+
+            return authentication;
+        }
+    }
+}
@@ -0,0 +1,107 @@
+package com.example.Item.configuration;
+
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+import net.ttddyy.dsproxy.proxy.ParameterKey;
+import net.ttddyy.dsproxy.proxy.ParameterSetOperation;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.stream.Collectors;
+
+/**
+ * Logs statements slower than a threshold together with their bind parameters and the service
+ * method that issued them. Only a {@code sampleRate} fraction of the slow statements is logged,
+ * and nothing at all is formatted for the fast ones.
+ */
+public class SlowQueryListener implements QueryExecutionListener {
+
+    private static final Logger log = LoggerFactory.getLogger(SlowQueryListener.class);
+
+    static final int MAX_LOGGED_PARAMETER_SETS = 10;
+
+    private static final String CALLER_PACKAGE = "com.example.Item.service.";
+
+    /**
+     * Bind order: datasource-proxy records the calls as a set, not in parameter order.
+     */
+    private static final Comparator<ParameterSetOperation> BY_PARAMETER =
+            Comparator.comparing(operation -> parameterKey(operation.getArgs()[0]));
+
+    private final long thresholdMillis;
+
+    private final double sampleRate;
+
+    public SlowQueryListener(final long thresholdMillis, final double sampleRate) {
+        this.thresholdMillis = thresholdMillis;
+        this.sampleRate = sampleRate;
+    }
+
+    @Override
+    public void beforeQuery(final ExecutionInfo execInfo, final List<QueryInfo> queryInfoList) {
+    }
+
+    @Override
+    public void afterQuery(final ExecutionInfo execInfo, final List<QueryInfo> queryInfoList) {
+
+        if (execInfo.getElapsedTime() < thresholdMillis || !log.isWarnEnabled()) {
+            return;
+        }
+
+        if (sampleRate < 1.0 && ThreadLocalRandom.current().nextDouble() >= sampleRate) {
+            return;
+        }
+
+        final String caller = caller();
+
+        for (QueryInfo query : queryInfoList) {
+            log.warn(describe(execInfo.getElapsedTime(), caller, query));
+        }
+    }
+
+    static String describe(final long elapsedMillis, final String caller, final QueryInfo query) {
+
+        final List<List<ParameterSetOperation>> parameterSets = query.getParametersList();
+
+        final String parameters = parameterSets.stream()
+                .limit(MAX_LOGGED_PARAMETER_SETS)
+                .map(set -> set.stream()
+                        .sorted(BY_PARAMETER)
+                        .map(SlowQueryListener::value)
+                        .collect(Collectors.joining(", ", "[", "]")))
+                .collect(Collectors.joining(", "));
+
+        final String more = parameterSets.size() > MAX_LOGGED_PARAMETER_SETS
+                ? " (+" + (parameterSets.size() - MAX_LOGGED_PARAMETER_SETS) + " more)"
+                : "";
+
+        return "Slow query: " + elapsedMillis + " ms from " + caller + ": " + query.getQuery()
+                + " params " + parameters + more;
+    }
+
+    /**
+     * The bound value; for {@code setNull} the second argument is the SQL type code, not a value.
+     */
+    private static String value(final ParameterSetOperation operation) {
+        return ParameterSetOperation.isSetNullParameterOperation(operation)
+                ? "null" : String.valueOf(operation.getArgs()[1]);
+    }
+
+    private static ParameterKey parameterKey(final Object indexOrName) {
+        return indexOrName instanceof Integer
+                ? new ParameterKey((Integer) indexOrName) : new ParameterKey(String.valueOf(indexOrName));
+    }
+
+    private static String caller() {
+        return StackWalker.getInstance().walk(frames -> frames
+                .filter(frame -> frame.getClassName().startsWith(CALLER_PACKAGE)
+                        && !frame.getClassName().contains("$$"))
+                .map(frame -> frame.getClassName().substring(CALLER_PACKAGE.length()) + "." + frame.getMethodName())
+                .findFirst()
+                .orElse("unknown"));
+    }
+}
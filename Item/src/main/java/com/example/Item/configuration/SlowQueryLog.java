@@ -0,0 +1,25 @@
+package com.example.Item.configuration;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Times every statement with a {@link SlowQueryListener}, registered on the datasource proxy that
+ * {@link Metrics} already wraps around the datasource. Enabled with
+ * {@code students.slow-query.enabled=true}, tuned with {@code students.slow-query.threshold-ms}
+ * and {@code students.slow-query.sample-rate}.
+ */
+@Configuration
+@ConditionalOnProperty(name = "students.slow-query.enabled", havingValue = "true")
+public class SlowQueryLog {
+
+    @Bean
+    public static SlowQueryListener slowQueryListener(
+            @Value("${students.slow-query.threshold-ms:200}") final long thresholdMillis,
+            @Value("${students.slow-query.sample-rate:1.0}") final double sampleRate) {
+
+        return new SlowQueryListener(thresholdMillis, sampleRate);
+    }
+}
@@ -0,0 +1,35 @@
+package com.example.Item.configuration;
+
+import org.springframework.boot.LazyInitializationExcludeFilter;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.flyway.FlywayMigrationInitializer;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationListener;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.persistence.EntityManagerFactory;
+
+@Configuration
+public class Startup {
+
+    /**
+     * With {@code spring.main.lazy-initialization=true} the schema is still migrated and validated
+     * during startup: a bad schema should stop the rollout, not fail the first request.
+     */
+    @Bean
+    public static LazyInitializationExcludeFilter eagerSchema() {
+        return LazyInitializationExcludeFilter.forBeanTypes(FlywayMigrationInitializer.class, EntityManagerFactory.class);
+    }
+
+    /**
+     * Training run for the class-data-sharing archive ({@code -Pcds}): start up, load the classes
+     * the real start-up loads, then exit so the JVM can write the archive.
+     */
+    @Bean
+    @ConditionalOnProperty("students.startup.exit-on-ready")
+    public ApplicationListener<ApplicationReadyEvent> exitOnReady() {
+        return event -> System.exit(SpringApplication.exit(event.getApplicationContext()));
+    }
+}
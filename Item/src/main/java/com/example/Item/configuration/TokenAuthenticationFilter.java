@@ -0,0 +1,58 @@
+package com.example.Item.configuration;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.WebUtils;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.Cookie;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.util.Optional;
+
+/**
+ * Authenticates requests that carry a {@link SignedTokens} token, as {@code Authorization: Bearer}
+ * header or as cookie, without a session or a user lookup. A cookie past half of its lifetime is
+ * replaced with a renewed one (up to the maximum age of the login), and an invalid cookie is removed.
+ */
+public class TokenAuthenticationFilter extends OncePerRequestFilter {
+
+    private static final String BEARER = "Bearer ";
+
+    private final SignedTokens tokens;
+
+    public TokenAuthenticationFilter(final SignedTokens tokens) {
+        this.tokens = tokens;
+    }
+
+    @Override
+    protected void doFilterInternal(final HttpServletRequest request, final HttpServletResponse response,
+                                    final FilterChain chain) throws ServletException, IOException {
+
+        final String header = request.getHeader(HttpHeaders.AUTHORIZATION);
+        final Cookie cookie = WebUtils.getCookie(request, SignedTokens.COOKIE);
+
+        final boolean bearer = header != null && header.startsWith(BEARER);
+        final String value = bearer ? header.substring(BEARER.length()) : cookie != null ? cookie.getValue() : null;
+
+        if (value != null && !value.isEmpty() && SecurityContextHolder.getContext().getAuthentication() == null) {
+
+            final Optional<SignedTokens.Token> token = tokens.verify(value);
+
+            if (token.isPresent()) {
+                SecurityContextHolder.getContext().setAuthentication(token.get().toAuthentication());
+
+                if (!bearer && tokens.isDueForRenewal(token.get())) {
+                    tokens.addCookie(request, response, tokens.renew(token.get()));
+                }
+            } else if (!bearer) {
+                tokens.clearCookie(request, response);
+            }
+        }
+
+        chain.doFilter(request, response);
+    }
+}
@@ -0,0 +1,49 @@
+package com.example.Item.configuration;
+
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.embedded.undertow.UndertowServletWebServerFactory;
+import org.springframework.boot.web.server.WebServerFactoryCustomizer;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Runs servlet request handling, and with it every {@code StudentService} and JDBC call made by
+ * a request, on virtual threads instead of the Undertow worker pool. Enabled with
+ * {@code students.virtual-threads.enabled=true}; requires a Java 21+ runtime.
+ * <p>
+ * Request concurrency is then no longer capped by a thread count, so the Hikari pool size is
+ * what bounds database work: requests beyond it wait up to the pool's connection timeout.
+ * This needs pgjdbc 42.6 or newer: older drivers run every query inside a {@code synchronized}
+ * method, which pins the virtual thread to its carrier for the whole database round-trip.
+ * The executor is looked up reflectively so the build itself can stay on Java 11.
+ */
+@Configuration
+@ConditionalOnProperty(name = "students.virtual-threads.enabled", havingValue = "true")
+public class VirtualThreads implements WebServerFactoryCustomizer<UndertowServletWebServerFactory>, DisposableBean {
+
+    private final ExecutorService executor = newVirtualThreadPerTaskExecutor();
+
+    @Override
+    public void customize(final UndertowServletWebServerFactory factory) {
+        factory.addDeploymentInfoCustomizers(deploymentInfo -> {
+            deploymentInfo.setExecutor(executor);
+            deploymentInfo.setAsyncExecutor(executor);
+        });
+    }
+
+    @Override
+    public void destroy() {
+        executor.shutdown();
+    }
+
+    static ExecutorService newVirtualThreadPerTaskExecutor() {
+        try {
+            return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("Virtual threads need Java 21 or newer, running on " + Runtime.version(), e);
+        }
+    }
+}
@@ -0,0 +1,71 @@
+package com.example.Item.configuration;
+
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.CacheControl;
+import org.springframework.web.filter.ShallowEtagHeaderFilter;
+import org.springframework.web.servlet.config.annotation.ResourceHandlerRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+import org.springframework.web.servlet.resource.EncodedResourceResolver;
+import org.springframework.web.servlet.resource.ResourceUrlEncodingFilter;
+import org.springframework.web.servlet.resource.VersionResourceResolver;
+
+@Configuration
+public class Web implements WebMvcConfigurer {
+
+    /**
+     * Stylesheets and scripts of the pages, bundled into the jar (see the pom).
+     */
+    public static final String ASSETS = "/assets/**";
+
+    /**
+     * Asset URLs carry a hash of the content, so a cached copy can never go stale: browsers keep
+     * it for a year and do not even revalidate it on reload. ({@link CacheControl} has no
+     * {@code immutable} directive before Spring 6.)
+     */
+    private static final CacheControl IMMUTABLE = new CacheControl() {
+        @Override
+        public String getHeaderValue() {
+            return "max-age=31536000, public, immutable";
+        }
+    };
+
+    /**
+     * ETag / If-None-Match for the JSON API: the response body is hashed and a matching
+     * If-None-Match gets a 304 with no body.
+     */
+    @Bean
+    public FilterRegistrationBean<ShallowEtagHeaderFilter> etagFilter() {
+
+        final FilterRegistrationBean<ShallowEtagHeaderFilter> registration =
+                new FilterRegistrationBean<>(new ShallowEtagHeaderFilter());
+
+        registration.addUrlPatterns("/api/*");
+
+        return registration;
+    }
+
+    /**
+     * Serves {@code /assets/css/students-<md5>.css} from {@code classpath:/assets/css/students.css},
+     * preferring the {@code .br} or {@code .gz} file compressed at build time when the browser
+     * accepts it.
+     */
+    @Override
+    public void addResourceHandlers(final ResourceHandlerRegistry registry) {
+        registry.addResourceHandler(ASSETS)
+                .addResourceLocations("classpath:/assets/")
+                .setCacheControl(IMMUTABLE)
+                .resourceChain(true)
+                .addResolver(new EncodedResourceResolver())
+                .addResolver(new VersionResourceResolver().addContentVersionStrategy("/**"));
+    }
+
+    /**
+     * Rewrites {@code @{/assets/...}} links in the templates to their content-hashed URLs.
+     */
+    @Bean
+    public ResourceUrlEncodingFilter resourceUrlEncodingFilter() {
+        return new ResourceUrlEncodingFilter();
+    }
+}
@@ -3,18 +3,36 @@ package com.example.Item.model;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.DynamicUpdate;
+import org.hibernate.annotations.GenericGenerator;
+import org.hibernate.annotations.Parameter;
 
 import javax.persistence.*;
 
 @Entity
 @Table(name = "table_students")
+@DynamicUpdate
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
 public class Student {
 
+    public static final String ID_SEQUENCE = "table_students_s_id_seq";
+
+    /**
+     * Ids per sequence value: {@code nextval} returns the first id of a block of this many
+     * (pooled-lo), so inserts need one sequence call per block and can be batched.
+     */
+    public static final int ID_ALLOCATION_SIZE = 50;
+
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "student_id")
+    @GenericGenerator(name = "student_id", strategy = "org.hibernate.id.enhanced.SequenceStyleGenerator",
+            parameters = {
+                    @Parameter(name = "sequence_name", value = ID_SEQUENCE),
+                    @Parameter(name = "increment_size", value = "" + ID_ALLOCATION_SIZE),
+                    @Parameter(name = "optimizer", value = "pooled-lo")
+            })
     @Column(name = "s_id")
     private int id;
 
@@ -23,4 +41,16 @@ public class Student {
 
     @Column(name = "s_last_name")
     private String lastName;
+
+    /**
+     * Bumped by every update; a save carrying an older version is rejected instead of
+     * overwriting the newer data.
+     */
+    @Version
+    @Column(name = "s_version")
+    private int version;
+
+    public Student(int id, String firstName, String lastName) {
+        this(id, firstName, lastName, 0);
+    }
 }
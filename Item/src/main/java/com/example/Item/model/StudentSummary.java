@@ -0,0 +1,18 @@
+package com.example.Item.model;
+
+import lombok.Value;
+
+/**
+ * The columns the student list and search show. Read with a JPQL constructor expression, so the
+ * rows are plain immutable objects: no managed entity, no dirty-checking snapshot, and columns
+ * added to {@link Student} later are not fetched for the list.
+ */
+@Value
+public class StudentSummary {
+
+    int id;
+
+    String firstName;
+
+    String lastName;
+}
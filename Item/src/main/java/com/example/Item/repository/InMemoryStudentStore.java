@@ -0,0 +1,556 @@
+package com.example.Item.repository;
+
+import com.example.Item.model.Student;
+import com.example.Item.model.StudentSummary;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Primary;
+import org.springframework.dao.EmptyResultDataAccessException;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Repository;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+import java.util.PriorityQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-process {@link StudentStore}, enabled with {@code students.store.type=memory}: students live
+ * on the heap in {@value #STRIPES} {@link StudentTable} stripes, each behind its own read/write
+ * lock, so writes to different students rarely contend. Ordered reads merge the stripes' sorted
+ * id indexes under all read locks. There is no name index: a name search scans every student.
+ * <p>
+ * With {@code students.store.snapshot-file} set, the contents are loaded from that file at
+ * startup and written back every {@code students.store.snapshot-interval-seconds} (when changed)
+ * and on shutdown. Writes since the last snapshot are lost if the process dies.
+ * <p>
+ * Only the student records move here (the bulk import and the export included); users still
+ * use the database. {@code configuration.InMemoryTransactions} keeps student transactions off the
+ * database connection pool.
+ */
+@Repository
+@Primary
+@ConditionalOnProperty(name = "students.store.type", havingValue = "memory")
+public class InMemoryStudentStore implements StudentStore, DisposableBean {
+
+    private static final Logger log = LoggerFactory.getLogger(InMemoryStudentStore.class);
+
+    static final int STRIPES = 16;
+
+    private static final int SNAPSHOT_MAGIC = 0x53545544;
+
+    private static final long SHUTDOWN_TIMEOUT_SECONDS = 30;
+
+    private final StudentTable[] tables = new StudentTable[STRIPES];
+
+    private final ReentrantReadWriteLock[] locks = new ReentrantReadWriteLock[STRIPES];
+
+    private final AtomicInteger lastId = new AtomicInteger();
+
+    private final AtomicLong modifications = new AtomicLong();
+
+    private final Path snapshotFile;
+
+    private final ScheduledExecutorService snapshots;
+
+    private volatile long snapshotModifications;
+
+    @Autowired
+    public InMemoryStudentStore(@Value("${students.store.snapshot-file:}") final String snapshotFile,
+                                @Value("${students.store.snapshot-interval-seconds:60}") final long snapshotInterval)
+            throws IOException {
+
+        for (int i = 0; i < STRIPES; i++) {
+            tables[i] = new StudentTable();
+            locks[i] = new ReentrantReadWriteLock();
+        }
+
+        this.snapshotFile = snapshotFile.isBlank() ? null : Paths.get(snapshotFile);
+
+        if (this.snapshotFile != null && Files.exists(this.snapshotFile)) {
+            load(this.snapshotFile);
+        }
+
+        if (this.snapshotFile != null && snapshotInterval > 0) {
+            snapshots = Executors.newSingleThreadScheduledExecutor(new CustomizableThreadFactory("student-snapshot-"));
+            snapshots.scheduleWithFixedDelay(this::snapshotIfModified, snapshotInterval, snapshotInterval,
+                    TimeUnit.SECONDS);
+        } else {
+            snapshots = null;
+        }
+    }
+
+    @Override
+    public Page<StudentSummary> findSummaries(final Pageable pageable) {
+
+        final List<StudentSummary> content = read(0, true, pageable.getOffset(), pageable.getPageSize());
+
+        return new PageImpl<>(content, pageable, count());
+    }
+
+    @Override
+    public Slice<StudentSummary> findSummariesAfter(final int id, final Pageable pageable) {
+        return slice(read(id, true, 0, pageable.getPageSize() + 1), pageable);
+    }
+
+    @Override
+    public Slice<StudentSummary> findSummariesBefore(final int id, final Pageable pageable) {
+        return slice(read(id, false, 0, pageable.getPageSize() + 1), pageable);
+    }
+
+    @Override
+    public Slice<StudentSummary> searchByNameAfter(final String prefix, final int id, final Pageable pageable) {
+        return slice(search(prefix, id, true, pageable.getPageSize() + 1), pageable);
+    }
+
+    @Override
+    public Slice<StudentSummary> searchByNameBefore(final String prefix, final int id, final Pageable pageable) {
+        return slice(search(prefix, id, false, pageable.getPageSize() + 1), pageable);
+    }
+
+    @Override
+    public Optional<Student> findById(final Integer id) {
+
+        final ReentrantReadWriteLock.ReadLock lock = locks[stripe(id)].readLock();
+
+        lock.lock();
+        try {
+            return Optional.ofNullable(tables[stripe(id)].get(id));
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public <S extends Student> S save(final S student) {
+
+        if (student.getId() == 0) {
+            student.setId(lastId.incrementAndGet());
+        } else {
+            lastId.accumulateAndGet(student.getId(), Math::max);
+        }
+
+        final ReentrantReadWriteLock.WriteLock lock = locks[stripe(student.getId())].writeLock();
+
+        lock.lock();
+        try {
+            tables[stripe(student.getId())].put(student.getId(), student.getFirstName(), student.getLastName(),
+                    student.getVersion());
+        } finally {
+            lock.unlock();
+        }
+
+        modifications.incrementAndGet();
+
+        return student;
+    }
+
+    @Override
+    public int updateIfVersion(final int id, final int version, final String firstName, final String lastName) {
+
+        final StudentTable table = tables[stripe(id)];
+        final ReentrantReadWriteLock.WriteLock lock = locks[stripe(id)].writeLock();
+
+        lock.lock();
+        try {
+            if (table.version(id) != version) {
+                return 0;
+            }
+
+            table.put(id, firstName, lastName, version + 1);
+        } finally {
+            lock.unlock();
+        }
+
+        modifications.incrementAndGet();
+
+        return 1;
+    }
+
+    @Override
+    public void deleteById(final Integer id) {
+        if (deleteByIds(List.of(id)) == 0) {
+            throw new EmptyResultDataAccessException("No student with id " + id, 1);
+        }
+    }
+
+    @Override
+    public int deleteByIds(final Collection<Integer> ids) {
+        return update(ids, (table, id) -> table.remove(id));
+    }
+
+    @Override
+    public int updateNames(final Collection<Integer> ids, final String firstName, final String lastName) {
+        return update(ids, (table, id) -> {
+            final Student student = table.get(id);
+
+            if (student == null) {
+                return false;
+            }
+
+            table.put(id, firstName != null ? firstName : student.getFirstName(),
+                    lastName != null ? lastName : student.getLastName(), student.getVersion() + 1);
+
+            return true;
+        });
+    }
+
+    public long count() {
+
+        long count = 0;
+
+        for (int i = 0; i < STRIPES; i++) {
+            locks[i].readLock().lock();
+            try {
+                count += tables[i].size();
+            } finally {
+                locks[i].readLock().unlock();
+            }
+        }
+
+        return count;
+    }
+
+    /**
+     * Writes all students to the snapshot file: first to a temporary file next to it, which is
+     * then moved over the previous snapshot, so a crash mid-write leaves the old one intact.
+     * Synchronized so that a snapshot which starts later also reads the students later and
+     * cannot be overwritten by one still in flight.
+     */
+    public synchronized void snapshot() throws IOException {
+
+        if (snapshotFile == null) {
+            return;
+        }
+
+        final long modificationsAtStart = modifications.get();
+        final List<Student> students = readAll();
+
+        final Path directory = snapshotFile.toAbsolutePath().getParent();
+        final Path temporary = Files.createTempFile(directory, snapshotFile.getFileName().toString(), ".tmp");
+
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temporary)))) {
+            out.writeInt(SNAPSHOT_MAGIC);
+            out.writeInt(students.size());
+
+            for (Student student : students) {
+                out.writeInt(student.getId());
+                out.writeInt(student.getVersion());
+                writeName(out, student.getFirstName());
+                writeName(out, student.getLastName());
+            }
+        } catch (IOException e) {
+            Files.deleteIfExists(temporary);
+            throw e;
+        }
+
+        Files.move(temporary, snapshotFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+
+        snapshotModifications = modificationsAtStart;
+    }
+
+    /**
+     * Lets a periodic snapshot in flight finish (an interrupt could abort it half-written), then
+     * writes the final one.
+     */
+    @Override
+    public void destroy() throws IOException {
+
+        if (snapshots != null) {
+            snapshots.shutdown();
+
+            try {
+                if (!snapshots.awaitTermination(SHUTDOWN_TIMEOUT_SECONDS, TimeUnit.SECONDS)) {
+                    log.warn("Periodic student snapshot still running after {} s", SHUTDOWN_TIMEOUT_SECONDS);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+
+        snapshot();
+    }
+
+    private void snapshotIfModified() {
+
+        if (modifications.get() == snapshotModifications) {
+            return;
+        }
+
+        try {
+            snapshot();
+        } catch (IOException | UncheckedIOException e) {
+            log.warn("Could not write student snapshot to {}", snapshotFile, e);
+        }
+    }
+
+    private void load(final Path file) throws IOException {
+
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file)))) {
+
+            if (in.readInt() != SNAPSHOT_MAGIC) {
+                throw new IOException("Not a student snapshot - " + file);
+            }
+
+            final int count = in.readInt();
+
+            for (int i = 0; i < count; i++) {
+                final int id = in.readInt();
+                final int version = in.readInt();
+
+                tables[stripe(id)].put(id, readName(in), readName(in), version);
+                lastId.accumulateAndGet(id, Math::max);
+            }
+
+            log.info("Loaded {} students from {}", count, file);
+        }
+    }
+
+    /**
+     * Students in id order, from the one after (or, descending, before) {@code cursor}, walking
+     * the stripes' sorted id indexes in step like a merge.
+     */
+    private List<StudentSummary> read(final int cursor, final boolean ascending, final long skip, final int limit) {
+
+        final List<StudentSummary> students = new ArrayList<>(Math.min(limit, 1024));
+        final int[] positions = new int[STRIPES];
+
+        lockAll();
+        try {
+            for (int i = 0; i < STRIPES; i++) {
+                positions[i] = ascending ? tables[i].positionAfter(cursor) : tables[i].positionBefore(cursor);
+            }
+
+            long skipped = 0;
+
+            while (students.size() < limit) {
+                int stripe = -1;
+                int id = 0;
+
+                for (int i = 0; i < STRIPES; i++) {
+                    if (positions[i] < 0 || positions[i] >= tables[i].size()) {
+                        continue;
+                    }
+
+                    final int candidate = tables[i].idAt(positions[i]);
+
+                    if (stripe < 0 || (ascending ? candidate < id : candidate > id)) {
+                        stripe = i;
+                        id = candidate;
+                    }
+                }
+
+                if (stripe < 0) {
+                    break;
+                }
+
+                positions[stripe] += ascending ? 1 : -1;
+
+                if (skipped < skip) {
+                    skipped++;
+                    continue;
+                }
+
+                students.add(tables[stripe].summary(id));
+            }
+        } finally {
+            unlockAll();
+        }
+
+        return students;
+    }
+
+    /**
+     * Matches of a name search in the order of {@link StudentStore#searchByNameAfter}, from the
+     * one after (or, descending, before) {@code cursor}: a scan of all students that keeps the
+     * nearest {@code limit} in a heap.
+     */
+    private List<StudentSummary> search(final String prefix, final int cursor, final boolean ascending,
+                                        final int limit) {
+
+        final Comparator<NameMatch> order = ascending ? NameMatch.ORDER : NameMatch.ORDER.reversed();
+        final PriorityQueue<NameMatch> nearest = new PriorityQueue<>(limit, order.reversed());
+        final List<StudentSummary> students = new ArrayList<>(limit);
+
+        lockAll();
+        try {
+            final String cursorName = tables[stripe(cursor)].matchingName(cursor, prefix);
+            final NameMatch from = cursorName == null ? null : new NameMatch(cursorName, cursor);
+
+            for (StudentTable table : tables) {
+                for (int position = 0; position < table.size(); position++) {
+
+                    final int id = table.idAt(position);
+                    final String name = table.matchingName(id, prefix);
+
+                    if (name == null) {
+                        continue;
+                    }
+
+                    final NameMatch match = new NameMatch(name, id);
+
+                    if (from != null && order.compare(match, from) <= 0) {
+                        continue;
+                    }
+
+                    if (nearest.size() < limit) {
+                        nearest.add(match);
+                    } else if (order.compare(match, nearest.peek()) < 0) {
+                        nearest.poll();
+                        nearest.add(match);
+                    }
+                }
+            }
+
+            final List<NameMatch> matches = new ArrayList<>(nearest);
+
+            matches.sort(order);
+
+            for (NameMatch match : matches) {
+                students.add(tables[stripe(match.id)].summary(match.id));
+            }
+        } finally {
+            unlockAll();
+        }
+
+        return students;
+    }
+
+    private List<Student> readAll() {
+
+        final List<Student> students = new ArrayList<>();
+
+        lockAll();
+        try {
+            for (StudentTable table : tables) {
+                for (int position = 0; position < table.size(); position++) {
+                    students.add(table.get(table.idAt(position)));
+                }
+            }
+        } finally {
+            unlockAll();
+        }
+
+        return students;
+    }
+
+    private int update(final Collection<Integer> ids, final RowUpdate update) {
+
+        int affected = 0;
+
+        for (Integer id : ids) {
+            final ReentrantReadWriteLock.WriteLock lock = locks[stripe(id)].writeLock();
+
+            lock.lock();
+            try {
+                if (update.apply(tables[stripe(id)], id)) {
+                    affected++;
+                }
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        if (affected > 0) {
+            modifications.incrementAndGet();
+        }
+
+        return affected;
+    }
+
+    /**
+     * Read locks are always taken in stripe order, so concurrent readers cannot deadlock.
+     */
+    private void lockAll() {
+        for (ReentrantReadWriteLock lock : locks) {
+            lock.readLock().lock();
+        }
+    }
+
+    private void unlockAll() {
+        for (int i = STRIPES - 1; i >= 0; i--) {
+            locks[i].readLock().unlock();
+        }
+    }
+
+    private static int stripe(final int id) {
+        return id & (STRIPES - 1);
+    }
+
+    private static Slice<StudentSummary> slice(final List<StudentSummary> students, final Pageable pageable) {
+
+        final boolean hasNext = students.size() > pageable.getPageSize();
+
+        return new SliceImpl<>(hasNext ? students.subList(0, pageable.getPageSize()) : students, pageable, hasNext);
+    }
+
+    private static void writeName(final DataOutputStream out, final String name) throws IOException {
+
+        out.writeBoolean(name != null);
+
+        if (name != null) {
+            out.writeUTF(name);
+        }
+    }
+
+    private static String readName(final DataInputStream in) throws IOException {
+        return in.readBoolean() ? in.readUTF() : null;
+    }
+
+    private static final class NameMatch {
+
+        /**
+         * Code point order of the names, like the "C" collation of the database indexes.
+         */
+        private static final Comparator<NameMatch> ORDER = Comparator
+                .<NameMatch, String>comparing(match -> match.name, InMemoryStudentStore::compareCodePoints)
+                .thenComparingInt(match -> match.id);
+
+        private final String name;
+
+        private final int id;
+
+        private NameMatch(final String name, final int id) {
+            this.name = name;
+            this.id = id;
+        }
+    }
+
+    private static int compareCodePoints(final String left, final String right) {
+        return Arrays.compare(left.codePoints().toArray(), right.codePoints().toArray());
+    }
+
+    @FunctionalInterface
+    private interface RowUpdate {
+
+        boolean apply(StudentTable table, int id);
+    }
+}
@@ -1,20 +1,204 @@
 package com.example.Item.repository;
 
 import com.example.Item.model.Student;
+import com.example.Item.model.StudentSummary;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 @Repository
-public interface StudentRepository extends JpaRepository<Student,Integer> {
+public interface StudentRepository extends JpaRepository<Student,Integer>, StudentStore {
+
+    String SUMMARY = "new com.example.Item.model.StudentSummary(s.id, s.firstName, s.lastName)";
+
+    /**
+     * Lower-case names in code point order, as indexed by the {@code V6__student_name_search}
+     * migration. In the "C" collation the names starting with a prefix are one range of them.
+     */
+    String LAST_NAME = "lower(s_last_name) COLLATE \"C\"";
+
+    String FIRST_NAME = "lower(s_first_name) COLLATE \"C\"";
+
+    /**
+     * The cursor student and the name it matched by: its last name when that is in
+     * {@code [:from, :to)}, else its first name.
+     */
+    String CURSOR_STUDENT = "SELECT s_id, CASE WHEN " + LAST_NAME + " >= :from AND " + LAST_NAME + " < :to"
+            + " THEN " + LAST_NAME + " ELSE " + FIRST_NAME + " END AS name FROM table_students WHERE s_id = :id";
+
+    /**
+     * Students matched by their first name only; those whose last name matches as well are
+     * found (and ordered) by their last name.
+     */
+    String LAST_NAME_MISSES = "(s_last_name IS NULL OR " + LAST_NAME + " < :from OR " + LAST_NAME + " >= :to)";
+
+    /**
+     * Name search, one ordered index scan per name merged by a UNION ALL, each stopping after
+     * {@code :limit} rows. Postgres runs it as a Merge Append of two Index Scans on the
+     * {@code V6} indexes, with the cursor as the start key and {@code :to} as the stop key, and
+     * no Sort - also with a generic plan, where a {@code LIKE :pattern} could not become a range.
+     * With a million students a page reads some 30 buffers in under a millisecond, however
+     * many students match and however deep the page is.
+     */
+    String SEARCH_AFTER = "WITH boundary AS (SELECT coalesce(max(name), :from) AS name, coalesce(max(s_id), 0) AS id"
+            + " FROM (" + CURSOR_STUDENT + ") cursor_student WHERE name >= :from AND name < :to)"
+            + " SELECT s_id, s_first_name, s_last_name FROM ("
+            + "(SELECT s_id, s_first_name, s_last_name, " + LAST_NAME + " AS name FROM table_students"
+            + " WHERE (" + LAST_NAME + ", s_id) > ((SELECT name FROM boundary), (SELECT id FROM boundary))"
+            + " AND " + LAST_NAME + " < :to"
+            + " ORDER BY " + LAST_NAME + ", s_id LIMIT :limit)"
+            + " UNION ALL"
+            + " (SELECT s_id, s_first_name, s_last_name, " + FIRST_NAME + " FROM table_students"
+            + " WHERE (" + FIRST_NAME + ", s_id) > ((SELECT name FROM boundary), (SELECT id FROM boundary))"
+            + " AND " + FIRST_NAME + " < :to AND " + LAST_NAME_MISSES
+            + " ORDER BY " + FIRST_NAME + ", s_id LIMIT :limit)"
+            + ") matches ORDER BY name, s_id LIMIT :limit";
+
+    String SEARCH_BEFORE = "WITH boundary AS (SELECT coalesce(max(name), :to) AS name, coalesce(max(s_id), 0) AS id"
+            + " FROM (" + CURSOR_STUDENT + ") cursor_student WHERE name >= :from AND name < :to)"
+            + " SELECT s_id, s_first_name, s_last_name FROM ("
+            + "(SELECT s_id, s_first_name, s_last_name, " + LAST_NAME + " AS name FROM table_students"
+            + " WHERE (" + LAST_NAME + ", s_id) < ((SELECT name FROM boundary), (SELECT id FROM boundary))"
+            + " AND " + LAST_NAME + " >= :from"
+            + " ORDER BY " + LAST_NAME + " DESC, s_id DESC LIMIT :limit)"
+            + " UNION ALL"
+            + " (SELECT s_id, s_first_name, s_last_name, " + FIRST_NAME + " FROM table_students"
+            + " WHERE (" + FIRST_NAME + ", s_id) < ((SELECT name FROM boundary), (SELECT id FROM boundary))"
+            + " AND " + FIRST_NAME + " >= :from AND " + LAST_NAME_MISSES
+            + " ORDER BY " + FIRST_NAME + " DESC, s_id DESC LIMIT :limit)"
+            + ") matches ORDER BY name DESC, s_id DESC LIMIT :limit";
+
+    // Declared by both JpaRepository and StudentStore; redeclared so that calls are not ambiguous.
+
+    @Override
+    <S extends Student> S save(final S student);
+
+    @Override
+    Optional<Student> findById(final Integer id);
+
+    @Override
+    void deleteById(final Integer id);
+
 /*
     @Query(value = "SELECT * from table_students t Where t.lastName like %?1%",nativeQuery = true)
     public List<Student> findAll(String keyword);
 
  */
 
+    /**
+     * Offset page of the list columns only; see {@link StudentSummary}.
+     */
+    @Query(value = "select " + SUMMARY + " from Student s", countQuery = "select count(s) from Student s")
+    Page<StudentSummary> findSummaries(final Pageable pageable);
+
+    /**
+     * Keyset page: the students with an id greater than the cursor, ascending. Returning a
+     * {@link Slice} keeps Spring Data from issuing a count query.
+     */
+    @Query("select " + SUMMARY + " from Student s where s.id > :id order by s.id asc")
+    Slice<StudentSummary> findSummariesAfter(@Param("id") final int id, final Pageable pageable);
+
+    /**
+     * Keyset page: the students with an id lower than the cursor, descending (closest first).
+     */
+    @Query("select " + SUMMARY + " from Student s where s.id < :id order by s.id desc")
+    Slice<StudentSummary> findSummariesBefore(@Param("id") final int id, final Pageable pageable);
+
+    /**
+     * Keyset page of students whose last or first name starts with the given lower-case prefix,
+     * ordered by the matching name and id; see {@link #SEARCH_AFTER}.
+     */
+    @Override
+    default Slice<StudentSummary> searchByNameAfter(final String prefix, final int id, final Pageable pageable) {
+        return toSlice(searchAfter(prefix, successor(prefix), id, pageable.getPageSize() + 1), pageable);
+    }
+
+    @Override
+    default Slice<StudentSummary> searchByNameBefore(final String prefix, final int id, final Pageable pageable) {
+        return toSlice(searchBefore(prefix, successor(prefix), id, pageable.getPageSize() + 1), pageable);
+    }
+
+    @Query(value = SEARCH_AFTER, nativeQuery = true)
+    List<Object[]> searchAfter(@Param("from") final String from, @Param("to") final String to,
+                               @Param("id") final int id, @Param("limit") final int limit);
+
+    @Query(value = SEARCH_BEFORE, nativeQuery = true)
+    List<Object[]> searchBefore(@Param("from") final String from, @Param("to") final String to,
+                                @Param("id") final int id, @Param("limit") final int limit);
+
+    /**
+     * Conditional write: updates the student only while it still has the given version, and bumps
+     * the version. One statement and no pre-select (unlike {@code save} of a detached entity,
+     * which merges); 0 means it was changed or deleted in the meantime.
+     */
+    @Modifying(clearAutomatically = true)
+    @Query("update Student s set s.firstName = :firstName, s.lastName = :lastName, s.version = s.version + 1"
+            + " where s.id = :id and s.version = :version")
+    int updateIfVersion(@Param("id") final int id, @Param("version") final int version,
+                        @Param("firstName") final String firstName, @Param("lastName") final String lastName);
+
+    /**
+     * Set-based delete: one statement, no entity is loaded first (unlike {@code deleteById}).
+     */
+    @Modifying(clearAutomatically = true)
+    @Query("delete from Student s where s.id in :ids")
+    int deleteByIds(@Param("ids") final Collection<Integer> ids);
+
+    /**
+     * Set-based rename: one statement for both names; a {@code null} name is left unchanged. The
+     * casts give the null parameters a type, which Postgres cannot infer inside {@code coalesce}.
+     */
+    @Modifying(clearAutomatically = true)
+    @Query("update Student s set s.firstName = coalesce(cast(:firstName as string), s.firstName),"
+            + " s.lastName = coalesce(cast(:lastName as string), s.lastName), s.version = s.version + 1"
+            + " where s.id in :ids")
+    int updateNames(@Param("ids") final Collection<Integer> ids, @Param("firstName") final String firstName,
+                    @Param("lastName") final String lastName);
+
+    /**
+     * The least string above every string that starts with {@code prefix}, in code point order:
+     * the prefix with its last code point incremented.
+     */
+    private static String successor(final String prefix) {
+
+        final int[] codePoints = prefix.codePoints().toArray();
+
+        int last = codePoints.length - 1;
+
+        while (last >= 0 && codePoints[last] == Character.MAX_CODE_POINT) {
+            last--;
+        }
+
+        if (last < 0) {
+            return new String(Character.toChars(Character.MAX_CODE_POINT));
+        }
+
+        codePoints[last] = codePoints[last] + 1 == Character.MIN_SURROGATE ? Character.MAX_SURROGATE + 1
+                : codePoints[last] + 1;
+
+        return new String(codePoints, 0, last + 1);
+    }
+
+    private static Slice<StudentSummary> toSlice(final List<Object[]> rows, final Pageable pageable) {
+
+        final boolean hasNext = rows.size() > pageable.getPageSize();
+        final List<StudentSummary> students = new ArrayList<>(rows.size());
 
+        for (Object[] row : rows.subList(0, hasNext ? pageable.getPageSize() : rows.size())) {
+            students.add(new StudentSummary(((Number) row[0]).intValue(), (String) row[1], (String) row[2]));
+        }
 
+        return new SliceImpl<>(students, pageable, hasNext);
+    }
 }
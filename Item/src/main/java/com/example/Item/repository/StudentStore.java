@@ -0,0 +1,56 @@
+package com.example.Item.repository;
+
+import com.example.Item.model.Student;
+import com.example.Item.model.StudentSummary;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+
+import java.util.Collection;
+import java.util.Optional;
+
+/**
+ * Storage behind {@code StudentService}. Implemented by the JPA {@link StudentRepository} and,
+ * with {@code students.store.type=memory}, by the in-process {@link InMemoryStudentStore}.
+ * The method contracts are those of the JPA queries declared in {@link StudentRepository}.
+ */
+public interface StudentStore {
+
+    Page<StudentSummary> findSummaries(final Pageable pageable);
+
+    Slice<StudentSummary> findSummariesAfter(final int id, final Pageable pageable);
+
+    Slice<StudentSummary> findSummariesBefore(final int id, final Pageable pageable);
+
+    /**
+     * Students whose last or first name starts with the prefix, ordered by the matching name (the
+     * last name when both match) and id, from the one after the student with the given id. A
+     * cursor that is gone or no longer matches starts from the first match (or, before, the last).
+     *
+     * @param prefix lower case, as built by {@code StudentService.toPrefix}; no wildcards
+     */
+    Slice<StudentSummary> searchByNameAfter(final String prefix, final int id, final Pageable pageable);
+
+    Slice<StudentSummary> searchByNameBefore(final String prefix, final int id, final Pageable pageable);
+
+    Optional<Student> findById(final Integer id);
+
+    /**
+     * Inserts the student, assigning its id when it is 0.
+     */
+    <S extends Student> S save(final S student);
+
+    int updateIfVersion(final int id, final int version, final String firstName, final String lastName);
+
+    void deleteById(final Integer id);
+
+    int deleteByIds(final Collection<Integer> ids);
+
+    /**
+     * Sets the names of the given students and bumps their versions; a {@code null} name is left
+     * unchanged.
+     *
+     * @return the number of students updated
+     */
+    int updateNames(final Collection<Integer> ids, final String firstName, final String lastName);
+}
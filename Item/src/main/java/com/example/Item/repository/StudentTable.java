@@ -0,0 +1,279 @@
+package com.example.Item.repository;
+
+import com.example.Item.model.Student;
+import com.example.Item.model.StudentSummary;
+
+import java.util.Arrays;
+import java.util.Locale;
+
+/**
+ * One stripe of the {@link InMemoryStudentStore}: students keyed by their {@code int} id in an
+ * open-addressing table (linear probing, backward-shift deletion), with the columns held in
+ * parallel arrays so there is no boxed key and no entry object per student. A sorted {@code int[]}
+ * of the ids serves ordered (keyset and offset) reads.
+ * <p>
+ * Not thread-safe; the store guards every table with its own lock.
+ */
+final class StudentTable {
+
+    /**
+     * Ids start at 1, so 0 marks a free slot.
+     */
+    private static final int FREE = 0;
+
+    private static final int MIN_CAPACITY = 16;
+
+    private int[] keys;
+
+    private int[] versions;
+
+    private String[] firstNames;
+
+    private String[] lastNames;
+
+    private int mask;
+
+    private int[] sortedIds = new int[MIN_CAPACITY];
+
+    private int size;
+
+    StudentTable() {
+        allocate(MIN_CAPACITY);
+    }
+
+    int size() {
+        return size;
+    }
+
+    boolean contains(final int id) {
+        return slotOf(id) >= 0;
+    }
+
+    Student get(final int id) {
+
+        final int slot = slotOf(id);
+
+        return slot < 0 ? null : new Student(id, firstNames[slot], lastNames[slot], versions[slot]);
+    }
+
+    StudentSummary summary(final int id) {
+
+        final int slot = slotOf(id);
+
+        return slot < 0 ? null : new StudentSummary(id, firstNames[slot], lastNames[slot]);
+    }
+
+    /**
+     * @return the version of the student, or -1 when there is none with this id
+     */
+    int version(final int id) {
+
+        final int slot = slotOf(id);
+
+        return slot < 0 ? -1 : versions[slot];
+    }
+
+    /**
+     * The lower-cased name a search for {@code prefix} (already lower case) orders the student by:
+     * the last name when it starts with the prefix, else the first name when that does.
+     *
+     * @return the name, or {@code null} when neither matches or there is no such student
+     */
+    String matchingName(final int id, final String prefix) {
+
+        final int slot = slotOf(id);
+
+        if (slot < 0) {
+            return null;
+        }
+
+        if (startsWithIgnoringCase(lastNames[slot], prefix)) {
+            return lastNames[slot].toLowerCase(Locale.ROOT);
+        }
+
+        return startsWithIgnoringCase(firstNames[slot], prefix) ? firstNames[slot].toLowerCase(Locale.ROOT) : null;
+    }
+
+    void put(final int id, final String firstName, final String lastName, final int version) {
+
+        if (id <= FREE) {
+            throw new IllegalArgumentException("Student ids must be positive - " + id);
+        }
+
+        int slot = slotOf(id);
+
+        if (slot < 0) {
+            if ((size + 1) * 2 > keys.length) {
+                rehash(keys.length * 2);
+            }
+
+            slot = mix(id) & mask;
+
+            while (keys[slot] != FREE) {
+                slot = (slot + 1) & mask;
+            }
+
+            keys[slot] = id;
+            addSortedId(id);
+            size++;
+        }
+
+        firstNames[slot] = firstName;
+        lastNames[slot] = lastName;
+        versions[slot] = version;
+    }
+
+    boolean remove(final int id) {
+
+        final int slot = slotOf(id);
+
+        if (slot < 0) {
+            return false;
+        }
+
+        removeSlot(slot);
+        removeSortedId(id);
+        size--;
+
+        return true;
+    }
+
+    /**
+     * @return the position in id order of the first id greater than {@code id}; {@link #size()}
+     * when there is none
+     */
+    int positionAfter(final int id) {
+
+        final int found = Arrays.binarySearch(sortedIds, 0, size, id);
+
+        return found >= 0 ? found + 1 : -found - 1;
+    }
+
+    /**
+     * @return the position in id order of the last id lower than {@code id}; -1 when there is none
+     */
+    int positionBefore(final int id) {
+
+        final int found = Arrays.binarySearch(sortedIds, 0, size, id);
+
+        return found >= 0 ? found - 1 : -found - 2;
+    }
+
+    int idAt(final int position) {
+        return sortedIds[position];
+    }
+
+    private int slotOf(final int id) {
+
+        int slot = mix(id) & mask;
+
+        while (keys[slot] != FREE) {
+            if (keys[slot] == id) {
+                return slot;
+            }
+            slot = (slot + 1) & mask;
+        }
+
+        return -1;
+    }
+
+    /**
+     * Backward-shift deletion: later entries of the probe run move into the gap when the gap lies
+     * between their home slot and where they sit, so lookups never need tombstones.
+     */
+    private void removeSlot(final int slot) {
+
+        int gap = slot;
+        int next = (gap + 1) & mask;
+
+        while (keys[next] != FREE) {
+            final int home = mix(keys[next]) & mask;
+
+            if (((next - home) & mask) >= ((next - gap) & mask)) {
+                keys[gap] = keys[next];
+                versions[gap] = versions[next];
+                firstNames[gap] = firstNames[next];
+                lastNames[gap] = lastNames[next];
+                gap = next;
+            }
+
+            next = (next + 1) & mask;
+        }
+
+        keys[gap] = FREE;
+        firstNames[gap] = null;
+        lastNames[gap] = null;
+    }
+
+    private void addSortedId(final int id) {
+
+        if (size == sortedIds.length) {
+            sortedIds = Arrays.copyOf(sortedIds, size * 2);
+        }
+
+        // Ids mostly arrive in ascending order, which makes this an append.
+        if (size == 0 || id > sortedIds[size - 1]) {
+            sortedIds[size] = id;
+            return;
+        }
+
+        final int position = -Arrays.binarySearch(sortedIds, 0, size, id) - 1;
+
+        System.arraycopy(sortedIds, position, sortedIds, position + 1, size - position);
+        sortedIds[position] = id;
+    }
+
+    private void removeSortedId(final int id) {
+
+        final int position = Arrays.binarySearch(sortedIds, 0, size, id);
+
+        System.arraycopy(sortedIds, position + 1, sortedIds, position, size - position - 1);
+    }
+
+    private void rehash(final int capacity) {
+
+        final int[] oldKeys = keys;
+        final int[] oldVersions = versions;
+        final String[] oldFirstNames = firstNames;
+        final String[] oldLastNames = lastNames;
+
+        allocate(capacity);
+
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldKeys[i] != FREE) {
+                int slot = mix(oldKeys[i]) & mask;
+
+                while (keys[slot] != FREE) {
+                    slot = (slot + 1) & mask;
+                }
+
+                keys[slot] = oldKeys[i];
+                versions[slot] = oldVersions[i];
+                firstNames[slot] = oldFirstNames[i];
+                lastNames[slot] = oldLastNames[i];
+            }
+        }
+    }
+
+    private void allocate(final int capacity) {
+        keys = new int[capacity];
+        versions = new int[capacity];
+        firstNames = new String[capacity];
+        lastNames = new String[capacity];
+        mask = capacity - 1;
+    }
+
+    /**
+     * Ids are dense and sequential; spread them so runs of ids do not form long probe runs.
+     */
+    private static int mix(final int id) {
+
+        final int h = id * 0x9E3779B9;
+
+        return h ^ (h >>> 16);
+    }
+
+    private static boolean startsWithIgnoringCase(final String name, final String prefix) {
+        return name != null && name.regionMatches(true, 0, prefix, 0, prefix.length());
+    }
+}
@@ -0,0 +1,75 @@
+package com.example.Item.service;
+
+import com.example.Item.configuration.QueryCounter;
+import com.example.Item.model.Student;
+import com.example.Item.model.StudentSummary;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.Slice;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Service;
+
+import java.util.Optional;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Non-blocking facade over the read side of {@link StudentService}.
+ * <p>
+ * JDBC has no non-blocking driver API, so the calls run on a dedicated, bounded pool and the
+ * caller gets a {@link CompletableFuture}. Web handlers returning those futures release their
+ * Undertow worker thread while the database works; a slow database then fills this pool, and
+ * further reads are rejected once its queue is full, instead of exhausting the workers that
+ * every other request needs. The SQL work of a call is counted towards the request that made it
+ * (see {@link QueryCounter}).
+ */
+@Service
+@ConditionalOnProperty(name = "students.async.enabled", havingValue = "true")
+public class AsyncStudentService implements DisposableBean {
+
+    private final StudentService service;
+
+    private final QueryCounter queryCounter;
+
+    private final ThreadPoolExecutor executor;
+
+    @Autowired
+    public AsyncStudentService(final StudentService service,
+                               final QueryCounter queryCounter,
+                               @Value("${students.async.threads:16}") final int threads,
+                               @Value("${students.async.queue-capacity:1000}") final int queueCapacity) {
+        this.service = service;
+        this.queryCounter = queryCounter;
+        this.executor = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), new CustomizableThreadFactory("student-read-"));
+    }
+
+    public CompletableFuture<Slice<StudentSummary>> getStudentsAfter(final int after, final int size) {
+        return submit(() -> service.getStudentsAfter(after, size));
+    }
+
+    public CompletableFuture<Optional<Student>> getStudent(final int id) {
+        return submit(() -> service.getStudent(id));
+    }
+
+    public CompletableFuture<Slice<StudentSummary>> searchStudentsAfter(final String query, final int after, final int size) {
+        return submit(() -> service.searchStudentsAfter(query, after, size));
+    }
+
+    /**
+     * @throws java.util.concurrent.RejectedExecutionException when the pool and its queue are full
+     */
+    private <T> CompletableFuture<T> submit(final Supplier<T> task) {
+        return CompletableFuture.supplyAsync(queryCounter.wrap(task), executor);
+    }
+
+    @Override
+    public void destroy() {
+        executor.shutdown();
+    }
+}
@@ -0,0 +1,68 @@
+package com.example.Item.service;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+public class ImportReport {
+
+    static final int MAX_REPORTED_REJECTS = 100;
+
+    private long imported;
+
+    private long rejected;
+
+    private long elapsedMillis;
+
+    /**
+     * The first {@value #MAX_REPORTED_REJECTS} rejected rows; {@link #rejected} has the full count.
+     */
+    private final List<Reject> rejects = new ArrayList<>();
+
+    /**
+     * Set when a batch could not be written: the {@link #imported} rows before it are committed,
+     * that batch and the rest of the input are not.
+     */
+    private Failure failure;
+
+    public double getRowsPerSecond() {
+        return elapsedMillis == 0 ? imported : imported * 1000.0 / elapsedMillis;
+    }
+
+    void reject(final long line, final String reason) {
+        rejected++;
+
+        if (rejects.size() < MAX_REPORTED_REJECTS) {
+            rejects.add(new Reject(line, reason));
+        }
+    }
+
+    @Data
+    @AllArgsConstructor
+    public static class Failure {
+
+        /**
+         * 1-based number of the batch that failed.
+         */
+        private long batch;
+
+        /**
+         * Input line of the batch's first row, where a retry can resume.
+         */
+        private long line;
+
+        private String reason;
+    }
+
+    @Data
+    @AllArgsConstructor
+    public static class Reject {
+
+        private long line;
+
+        private String reason;
+    }
+}
@@ -0,0 +1,274 @@
+package com.example.Item.service;
+
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Pushes every {@link StudentChangedEvent} to server-sent event subscribers, so watchers learn
+ * about writes without polling the list pages.
+ * <p>
+ * Each event gets the next id of this instance, {@code <epoch>-<sequence>}, where the epoch is
+ * picked at random on startup. Publishing only appends the event to a replay ring and
+ * offers it to every subscriber's bounded buffer. Each connection has its own writer thread
+ * that empties its buffer with blocking writes, so a client that stops reading holds up only
+ * itself. These are platform threads: {@link SseEmitter#send} is {@code synchronized}, and a
+ * virtual thread blocked inside it would pin its carrier. A subscriber whose buffer overflows
+ * is dropped at once and disconnected when its writer gets through. Its browser reconnects with the
+ * {@code Last-Event-ID} it got to and receives the missed events from the ring, or a
+ * {@value #RESET} event (reload everything) when they are no longer there, or when the id is of
+ * another epoch - a restart, or another instance behind the load balancer.
+ */
+@Component
+public class StudentChangeStream implements DisposableBean {
+
+    public static final String RESET = "RESET";
+
+    private static final Change HEARTBEAT = new Change(0, null, false);
+
+    private final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+
+    private final Change[] replay;
+
+    private final int bufferSize;
+
+    private final long timeoutMillis;
+
+    private final ScheduledThreadPoolExecutor heartbeat;
+
+    private final ThreadFactory writers;
+
+    private final String epoch = Long.toString(ThreadLocalRandom.current().nextLong() & Long.MAX_VALUE, 36);
+
+    private long lastId;
+
+    @Autowired
+    public StudentChangeStream(@Value("${students.changes.buffer-size:256}") final int bufferSize,
+                               @Value("${students.changes.replay-size:1024}") final int replaySize,
+                               @Value("${students.changes.heartbeat-seconds:15}") final long heartbeatSeconds,
+                               @Value("${students.changes.timeout-ms:1800000}") final long timeoutMillis) {
+        this.replay = new Change[replaySize];
+        this.bufferSize = bufferSize;
+        this.timeoutMillis = timeoutMillis;
+        this.heartbeat = new ScheduledThreadPoolExecutor(1, new CustomizableThreadFactory("student-changes-heartbeat-"));
+
+        final CustomizableThreadFactory writers = new CustomizableThreadFactory("student-changes-");
+        writers.setDaemon(true);
+        this.writers = writers;
+
+        // Comments nobody sees, but writing them finds connections that went away silently.
+        if (heartbeatSeconds > 0) {
+            heartbeat.scheduleAtFixedRate(() -> subscribers.forEach(subscriber -> subscriber.offer(HEARTBEAT)),
+                    heartbeatSeconds, heartbeatSeconds, TimeUnit.SECONDS);
+        }
+    }
+
+    /**
+     * @param lastEventId the id of the last event the client received, if it is reconnecting
+     */
+    public SseEmitter subscribe(final String lastEventId) {
+
+        final SseEmitter emitter = new SseEmitter(timeoutMillis);
+
+        subscribe(emitter, lastEventId);
+
+        return emitter;
+    }
+
+    synchronized void subscribe(final SseEmitter emitter, final String lastEventId) {
+
+        final long resumeFrom = lastEventId == null ? lastId : sequenceOf(lastEventId);
+        final long missed = lastId - resumeFrom;
+        final boolean resumable = resumeFrom >= 0 && missed >= 0 && missed <= replay.length;
+
+        // Room for the missed events on top of the usual buffer.
+        final Subscriber subscriber = new Subscriber(emitter, bufferSize + (resumable ? (int) missed : 0));
+
+        emitter.onCompletion(subscriber::close);
+        emitter.onTimeout(subscriber::close);
+        emitter.onError(error -> subscriber.close());
+
+        if (!resumable) {
+            subscriber.offer(new Change(lastId, null, true));
+        } else if (missed == 0) {
+            // No data, so nothing is dispatched, but the browser resumes from this id.
+            subscriber.offer(new Change(lastId, null, false));
+        } else {
+            for (long id = resumeFrom + 1; id <= lastId; id++) {
+                subscriber.offer(replay[(int) (id % replay.length)]);
+            }
+        }
+
+        subscribers.add(subscriber);
+        subscriber.writer.start();
+    }
+
+    int getSubscriberCount() {
+        return subscribers.size();
+    }
+
+    String getEpoch() {
+        return epoch;
+    }
+
+    /**
+     * @return the sequence of an id of this epoch, or -1
+     */
+    private long sequenceOf(final String eventId) {
+
+        if (!eventId.startsWith(epoch + "-")) {
+            return -1;
+        }
+
+        try {
+            return Long.parseLong(eventId.substring(epoch.length() + 1));
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+
+    private String idOf(final Change change) {
+        return epoch + "-" + change.id;
+    }
+
+    /**
+     * Runs after the commit of the writing transaction, so subscribers never hear of a write
+     * that was rolled back. Never blocks on a subscriber.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public synchronized void onStudentChanged(final StudentChangedEvent event) {
+
+        final Change change = new Change(++lastId, event, false);
+
+        replay[(int) (change.id % replay.length)] = change;
+
+        for (Subscriber subscriber : subscribers) {
+            subscriber.offer(change);
+        }
+    }
+
+    @Override
+    public void destroy() {
+        heartbeat.shutdownNow();
+        subscribers.forEach(subscriber -> {
+            subscriber.close();
+            subscriber.emitter.complete();
+        });
+    }
+
+    /**
+     * An event and its id. Without an event it is either a {@value #RESET} to this id or only
+     * moves the client's last event id.
+     */
+    private static final class Change {
+
+        private final long id;
+
+        private final StudentChangedEvent event;
+
+        private final boolean reset;
+
+        private Change(final long id, final StudentChangedEvent event, final boolean reset) {
+            this.id = id;
+            this.event = event;
+            this.reset = reset;
+        }
+    }
+
+    private final class Subscriber implements Runnable {
+
+        private final SseEmitter emitter;
+
+        private final BlockingQueue<Change> buffer;
+
+        private final Thread writer;
+
+        private volatile boolean overflowed;
+
+        private volatile boolean closed;
+
+        private Subscriber(final SseEmitter emitter, final int capacity) {
+            this.emitter = emitter;
+            this.buffer = new ArrayBlockingQueue<>(capacity);
+            this.writer = writers.newThread(this);
+        }
+
+        private void offer(final Change change) {
+
+            if (closed || overflowed) {
+                return;
+            }
+
+            // Dropped right away: the writer may be stuck in a send for a long time yet.
+            if (!buffer.offer(change) && change != HEARTBEAT) {
+                overflowed = true;
+                subscribers.remove(this);
+            }
+        }
+
+        @Override
+        public void run() {
+            try {
+                while (!closed) {
+
+                    final Change change = buffer.take();
+
+                    if (overflowed) {
+                        emitter.complete();
+                        break;
+                    }
+
+                    send(change);
+                }
+            } catch (InterruptedException e) {
+                // Closed.
+            } catch (IOException | IllegalStateException e) {
+                // The client went away; the container completes the emitter.
+            } finally {
+                close();
+            }
+        }
+
+        private void send(final Change change) throws IOException {
+
+            if (change == HEARTBEAT) {
+                emitter.send(SseEmitter.event().comment(""));
+            } else if (change.event != null) {
+                emitter.send(SseEmitter.event()
+                        .id(idOf(change))
+                        .name(change.event.getType().name())
+                        .data(change.event, MediaType.APPLICATION_JSON));
+            } else if (change.reset) {
+                emitter.send(SseEmitter.event().id(idOf(change)).name(RESET).data(idOf(change)));
+            } else {
+                emitter.send(SseEmitter.event().id(idOf(change)));
+            }
+        }
+
+        private void close() {
+
+            closed = true;
+            buffer.clear();
+            subscribers.remove(this);
+
+            if (Thread.currentThread() != writer) {
+                writer.interrupt();
+            }
+        }
+    }
+}
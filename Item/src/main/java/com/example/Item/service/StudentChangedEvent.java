@@ -0,0 +1,33 @@
+package com.example.Item.service;
+
+import com.example.Item.model.Student;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+
+/**
+ * Published after students were written, so read-side caches know their contents are stale.
+ */
+@Getter
+@ToString
+@AllArgsConstructor
+public class StudentChangedEvent {
+
+    public enum Type {
+        CREATED, UPDATED, DELETED,
+
+        /**
+         * Many rows changed at once (e.g. a bulk import); {@link #getId()} is 0.
+         */
+        BULK
+    }
+
+    private final Type type;
+
+    private final int id;
+
+    /**
+     * The written state, or {@code null} for {@link Type#DELETED} and {@link Type#BULK}.
+     */
+    private final Student student;
+}
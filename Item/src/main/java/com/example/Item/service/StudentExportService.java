@@ -0,0 +1,149 @@
+package com.example.Item.service;
+
+import com.example.Item.model.StudentSummary;
+import com.example.Item.repository.InMemoryStudentStore;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Writes every row of {@code table_students} to a {@link Writer}, in id order.
+ * <p>
+ * Rows are read in keyset chunks ({@code WHERE s_id > ? ORDER BY s_id LIMIT ?}): each chunk is a
+ * short range scan of the primary key index in its own read-only transaction, so the first rows
+ * go out without sorting the table first, and no connection is held while a slow client takes
+ * the previous chunk. Heap use is bounded by the chunk size. The export is not one snapshot: a
+ * row changed while it runs may show either version, but no row is written twice.
+ * <p>
+ * With the in-memory store ({@code students.store.type=memory}) the chunks come from that store
+ * instead.
+ */
+@Service
+public class StudentExportService {
+
+    static final String SELECT_SQL = "SELECT s_id, s_first_name, s_last_name FROM table_students"
+            + " WHERE s_id > ? ORDER BY s_id LIMIT ?";
+
+    static final String CSV_HEADER = "id,firstName,lastName\n";
+
+    private static final RowMapper<StudentSummary> SUMMARY =
+            (rs, rowNum) -> new StudentSummary(rs.getInt(1), rs.getString(2), rs.getString(3));
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private final TransactionTemplate transactionTemplate;
+
+    private final ObjectMapper objectMapper;
+
+    private final Optional<InMemoryStudentStore> memoryStore;
+
+    private final int chunkSize;
+
+    @Autowired
+    public StudentExportService(final JdbcTemplate jdbcTemplate,
+                                final PlatformTransactionManager transactionManager,
+                                final ObjectMapper objectMapper,
+                                final Optional<InMemoryStudentStore> memoryStore,
+                                @Value("${students.export.chunk-size:1000}") final int chunkSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setReadOnly(true);
+        this.objectMapper = objectMapper;
+        this.memoryStore = memoryStore;
+        this.chunkSize = chunkSize;
+    }
+
+    public void exportStudents(final Writer writer, final StudentFormat format) throws IOException {
+
+        final JsonGenerator generator;
+        final RowWriter rows;
+
+        if (format == StudentFormat.CSV) {
+            generator = null;
+            rows = student -> writeCsv(writer, student);
+            writer.write(CSV_HEADER);
+        } else {
+            generator = objectMapper.getFactory().createGenerator(writer)
+                    .disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET)
+                    .disable(JsonGenerator.Feature.FLUSH_PASSED_TO_STREAM)
+                    .setRootValueSeparator(null);
+            rows = student -> writeJson(generator, student);
+        }
+
+        int after = 0;
+        List<StudentSummary> chunk;
+
+        do {
+            chunk = readChunk(after);
+
+            for (StudentSummary student : chunk) {
+                rows.write(student);
+                after = student.getId();
+            }
+        } while (chunk.size() == chunkSize);
+
+        if (generator != null) {
+            generator.flush();
+        }
+
+        writer.flush();
+    }
+
+    private List<StudentSummary> readChunk(final int after) {
+
+        if (memoryStore.isPresent()) {
+            return memoryStore.get().findSummariesAfter(after, PageRequest.of(0, chunkSize)).getContent();
+        }
+
+        return transactionTemplate.execute(status -> jdbcTemplate.query(SELECT_SQL, SUMMARY, after, chunkSize));
+    }
+
+    private static void writeCsv(final Writer writer, final StudentSummary student) throws IOException {
+        writer.write(Integer.toString(student.getId()));
+        writer.write(',');
+        writer.write(escapeCsv(student.getFirstName()));
+        writer.write(',');
+        writer.write(escapeCsv(student.getLastName()));
+        writer.write('\n');
+    }
+
+    private static void writeJson(final JsonGenerator generator, final StudentSummary student) throws IOException {
+        generator.writeStartObject();
+        generator.writeNumberField("id", student.getId());
+        generator.writeStringField("firstName", student.getFirstName());
+        generator.writeStringField("lastName", student.getLastName());
+        generator.writeEndObject();
+        generator.writeRaw('\n');
+    }
+
+    static String escapeCsv(final String value) {
+
+        if (value == null) {
+            return "";
+        }
+
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+            return value;
+        }
+
+        return '"' + value.replace("\"", "\"\"") + '"';
+    }
+
+    @FunctionalInterface
+    private interface RowWriter {
+
+        void write(StudentSummary student) throws IOException;
+    }
+}
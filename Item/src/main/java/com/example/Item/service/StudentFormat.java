@@ -0,0 +1,21 @@
+package com.example.Item.service;
+
+/**
+ * Wire formats accepted by the bulk import and produced by the export.
+ */
+public enum StudentFormat {
+
+    CSV("text/csv"),
+
+    JSONL("application/x-ndjson");
+
+    private final String contentType;
+
+    StudentFormat(final String contentType) {
+        this.contentType = contentType;
+    }
+
+    public String getContentType() {
+        return contentType;
+    }
+}
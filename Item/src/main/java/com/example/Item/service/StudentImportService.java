@@ -0,0 +1,270 @@
+package com.example.Item.service;
+
+import com.example.Item.model.Student;
+import com.example.Item.repository.InMemoryStudentStore;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Streams students from CSV ({@code firstName,lastName}) or JSON lines
+ * ({@code {"firstName": ..., "lastName": ...}}) into {@code table_students}.
+ * <p>
+ * Rows are written with plain JDBC batches rather than through {@link StudentService#save}, so
+ * each batch is one round-trip and one commit. Ids are claimed from the same sequence Hibernate
+ * uses, a block of {@link Student#ID_ALLOCATION_SIZE} per {@code nextval}, so imported rows never
+ * collide with ids the application is handing out.
+ * <p>
+ * With the in-memory store ({@code students.store.type=memory}) the rows are saved into that
+ * store instead, which assigns the ids.
+ * <p>
+ * A batch that fails to write stops the import; the batches before it stay committed, and the
+ * report says how many rows that was and where the failed batch starts.
+ */
+@Service
+public class StudentImportService {
+
+    private static final Logger log = LoggerFactory.getLogger(StudentImportService.class);
+
+    static final String INSERT_SQL = "INSERT INTO table_students (s_id, s_first_name, s_last_name) VALUES (?, ?, ?)";
+
+    static final String NEXT_ID_BLOCKS_SQL = "SELECT nextval('" + Student.ID_SEQUENCE + "') FROM generate_series(1, ?)";
+
+    static final int MAX_NAME_LENGTH = 255;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private final TransactionTemplate transactionTemplate;
+
+    private final ObjectMapper objectMapper;
+
+    private final ApplicationEventPublisher events;
+
+    private final Optional<InMemoryStudentStore> memoryStore;
+
+    private final int batchSize;
+
+    @Autowired
+    public StudentImportService(final JdbcTemplate jdbcTemplate,
+                                final PlatformTransactionManager transactionManager,
+                                final ObjectMapper objectMapper,
+                                final ApplicationEventPublisher events,
+                                final Optional<InMemoryStudentStore> memoryStore,
+                                @Value("${students.import.batch-size:1000}") final int batchSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.objectMapper = objectMapper;
+        this.events = events;
+        this.memoryStore = memoryStore;
+        this.batchSize = batchSize;
+    }
+
+    public ImportReport importStudents(final Reader source, final StudentFormat format) throws IOException {
+
+        final long started = System.nanoTime();
+
+        final ImportReport report = new ImportReport();
+        final List<Object[]> batch = new ArrayList<>(batchSize);
+
+        final BufferedReader reader = new BufferedReader(source);
+
+        String line;
+        long lineNumber = 0;
+        long batchLine = 0;
+
+        while ((line = reader.readLine()) != null) {
+            lineNumber++;
+
+            if (line.isBlank() || (lineNumber == 1 && format == StudentFormat.CSV && isHeader(line))) {
+                continue;
+            }
+
+            try {
+                final Student student = format == StudentFormat.CSV ? parseCsv(line) : parseJson(line);
+
+                if (batch.isEmpty()) {
+                    batchLine = lineNumber;
+                }
+
+                batch.add(new Object[]{student.getFirstName(), student.getLastName()});
+            } catch (IllegalArgumentException e) {
+                report.reject(lineNumber, e.getMessage());
+                continue;
+            }
+
+            if (batch.size() == batchSize && !flush(batch, batchLine, report)) {
+                break;
+            }
+        }
+
+        if (report.getFailure() == null) {
+            flush(batch, batchLine, report);
+        }
+
+        if (report.getImported() > 0) {
+            events.publishEvent(new StudentChangedEvent(StudentChangedEvent.Type.BULK, 0, null));
+        }
+
+        report.setElapsedMillis((System.nanoTime() - started) / 1_000_000);
+
+        return report;
+    }
+
+    /**
+     * Writes the batch in one transaction.
+     *
+     * @return {@code false} when it failed, which is recorded in the report
+     */
+    private boolean flush(final List<Object[]> batch, final long batchLine, final ImportReport report) {
+
+        if (batch.isEmpty()) {
+            return true;
+        }
+
+        try {
+            if (memoryStore.isPresent()) {
+                for (Object[] names : batch) {
+                    memoryStore.get().save(new Student(0, (String) names[0], (String) names[1]));
+                }
+            } else {
+                transactionTemplate.executeWithoutResult(status -> jdbcTemplate.batchUpdate(INSERT_SQL, withIds(batch)));
+            }
+        } catch (DataAccessException e) {
+            // Every batch before this one was full.
+            final long batchNumber = report.getImported() / batchSize + 1;
+
+            log.warn("Student import failed at batch {} (line {}) after {} rows were committed",
+                    batchNumber, batchLine, report.getImported(), e);
+
+            report.setFailure(new ImportReport.Failure(batchNumber, batchLine, e.getMostSpecificCause().getMessage()));
+
+            return false;
+        }
+
+        report.setImported(report.getImported() + batch.size());
+        batch.clear();
+
+        return true;
+    }
+
+    private List<Object[]> withIds(final List<Object[]> batch) {
+
+        final int blocks = (batch.size() + Student.ID_ALLOCATION_SIZE - 1) / Student.ID_ALLOCATION_SIZE;
+        final List<Integer> blockStarts = jdbcTemplate.queryForList(NEXT_ID_BLOCKS_SQL, Integer.class, blocks);
+
+        final List<Object[]> rows = new ArrayList<>(batch.size());
+
+        for (int i = 0; i < batch.size(); i++) {
+            final int id = blockStarts.get(i / Student.ID_ALLOCATION_SIZE) + i % Student.ID_ALLOCATION_SIZE;
+            final Object[] names = batch.get(i);
+
+            rows.add(new Object[]{id, names[0], names[1]});
+        }
+
+        return rows;
+    }
+
+    private static boolean isHeader(final String line) {
+        return line.replace("\"", "").replace(" ", "").equalsIgnoreCase("firstName,lastName");
+    }
+
+    static Student parseCsv(final String line) {
+
+        final List<String> fields = new ArrayList<>(2);
+        final StringBuilder field = new StringBuilder();
+
+        boolean quoted = false;
+
+        for (int i = 0; i < line.length(); i++) {
+            final char c = line.charAt(i);
+
+            if (quoted) {
+                if (c == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    field.append('"');
+                    i++;
+                } else if (c == '"') {
+                    quoted = false;
+                } else {
+                    field.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else {
+                field.append(c);
+            }
+        }
+
+        if (quoted) {
+            throw new IllegalArgumentException("Unterminated quoted field");
+        }
+
+        fields.add(field.toString());
+
+        if (fields.size() != 2) {
+            throw new IllegalArgumentException("Expected 2 fields but found " + fields.size());
+        }
+
+        return toStudent(fields.get(0), fields.get(1));
+    }
+
+    Student parseJson(final String line) {
+
+        final JsonNode node;
+
+        try {
+            node = objectMapper.readTree(line);
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("Malformed JSON - " + e.getOriginalMessage());
+        }
+
+        if (!node.isObject()) {
+            throw new IllegalArgumentException("Expected a JSON object");
+        }
+
+        return toStudent(node.path("firstName").asText(null), node.path("lastName").asText(null));
+    }
+
+    private static Student toStudent(final String firstName, final String lastName) {
+
+        final Student student = new Student();
+        student.setFirstName(requireName("firstName", firstName));
+        student.setLastName(requireName("lastName", lastName));
+
+        return student;
+    }
+
+    private static String requireName(final String field, final String value) {
+
+        if (value == null || value.isBlank()) {
+            throw new IllegalArgumentException("Missing " + field);
+        }
+
+        final String name = value.strip();
+
+        if (name.length() > MAX_NAME_LENGTH) {
+            throw new IllegalArgumentException(field + " is longer than " + MAX_NAME_LENGTH + " characters");
+        }
+
+        return name;
+    }
+}
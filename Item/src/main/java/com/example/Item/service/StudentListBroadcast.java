@@ -0,0 +1,140 @@
+package com.example.Item.service;
+
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.UUID;
+
+/**
+ * Keeps the {@link StudentListCache} of every node current when several nodes share the
+ * database; enabled with {@code students.list-cache.broadcast=true}.
+ * <p>
+ * Each change is announced with a Postgres {@code NOTIFY} sent inside the writing transaction, so
+ * it is delivered when, and only if, that transaction commits. Every node listens on a connection
+ * of its own, outside the pool, and moves its list cache on for the changes of the other nodes:
+ * their cached pages and ETags no longer outlive a write made elsewhere. A node cannot know what
+ * it missed while it was not listening, so it moves its cache on after every (re)connect too.
+ */
+@Component
+@ConditionalOnProperty(name = "students.list-cache.broadcast", havingValue = "true")
+public class StudentListBroadcast implements DisposableBean {
+
+    static final String CHANNEL = "student_changes";
+
+    static final String NOTIFY_SQL = "SELECT pg_notify(?, ?)";
+
+    private static final Logger log = LoggerFactory.getLogger(StudentListBroadcast.class);
+
+    private static final int POLL_MILLIS = 1000;
+
+    private static final long RECONNECT_MILLIS = 5000;
+
+    /**
+     * Sent as the payload, so a node skips its own changes; it has already applied them.
+     */
+    private final String node = UUID.randomUUID().toString();
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private final DataSourceProperties dataSource;
+
+    private final StudentListCache listCache;
+
+    private final Thread listener;
+
+    private volatile boolean running = true;
+
+    @Autowired
+    public StudentListBroadcast(final JdbcTemplate jdbcTemplate,
+                                final DataSourceProperties dataSource,
+                                final StudentListCache listCache) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.dataSource = dataSource;
+        this.listCache = listCache;
+
+        final CustomizableThreadFactory threads = new CustomizableThreadFactory("student-list-broadcast-");
+        threads.setDaemon(true);
+
+        this.listener = threads.newThread(this::listen);
+        this.listener.start();
+    }
+
+    /**
+     * Runs in the writing transaction, if there is one: Postgres holds the notification back
+     * until the commit and drops it on a rollback.
+     */
+    @EventListener
+    public void onStudentChanged(final StudentChangedEvent event) {
+        jdbcTemplate.queryForList(NOTIFY_SQL, CHANNEL, node);
+    }
+
+    @Override
+    public void destroy() throws InterruptedException {
+        running = false;
+        listener.join();
+    }
+
+    private void listen() {
+
+        while (running) {
+            try (Connection connection = DriverManager.getConnection(dataSource.determineUrl(),
+                    dataSource.determineUsername(), dataSource.determinePassword())) {
+
+                try (Statement statement = connection.createStatement()) {
+                    statement.execute("LISTEN " + CHANNEL);
+                }
+
+                listCache.invalidate();
+
+                final PGConnection postgres = connection.unwrap(PGConnection.class);
+
+                while (running) {
+                    final PGNotification[] notifications = postgres.getNotifications(POLL_MILLIS);
+
+                    if (notifications != null && fromOtherNode(notifications)) {
+                        listCache.invalidate();
+                    }
+                }
+            } catch (SQLException e) {
+                if (running) {
+                    log.warn("Lost the student change notifications, reconnecting in {} ms", RECONNECT_MILLIS, e);
+                    sleep();
+                }
+            }
+        }
+    }
+
+    private boolean fromOtherNode(final PGNotification[] notifications) {
+
+        for (PGNotification notification : notifications) {
+            if (!node.equals(notification.getParameter())) {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    private void sleep() {
+        try {
+            Thread.sleep(RECONNECT_MILLIS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            running = false;
+        }
+    }
+}
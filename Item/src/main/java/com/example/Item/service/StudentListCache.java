@@ -0,0 +1,69 @@
+package com.example.Item.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.example.Item.configuration.ReadOnlyRoutingDataSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Results of list and search queries, valid for one version of the student table.
+ * <p>
+ * Every {@link StudentChangedEvent} moves the version on and drops the cached results. The
+ * version is part of the key, so a result loaded concurrently with a write is stored under
+ * the old version and never served. Loaders read from the primary, as a lagging replica could
+ * still return rows of the previous version. The version also gives list pages their ETag.
+ * It is per instance and starts at a random value, so an ETag issued before a restart or by
+ * another node does not match by chance and turn into a 304 for different data. On its own an
+ * instance only sees the writes it served; with several nodes, {@link StudentListBroadcast}
+ * moves every node's version on for the writes of the others.
+ */
+@Component
+public class StudentListCache {
+
+    private final AtomicLong version = new AtomicLong(ThreadLocalRandom.current().nextLong(Long.MAX_VALUE / 2));
+
+    private final Cache<String, Object> results;
+
+    @Autowired
+    public StudentListCache(@Value("${students.list-cache.maximum-size:1000}") final long maximumSize,
+                            @Value("${students.list-cache.time-to-live-seconds:600}") final long timeToLive) {
+        this.results = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(Duration.ofSeconds(timeToLive))
+                .build();
+    }
+
+    public long getVersion() {
+        return version.get();
+    }
+
+    @SuppressWarnings("unchecked")
+    public <T> T get(final String key, final Supplier<T> loader) {
+        return (T) results.get(version.get() + ":" + key, k -> ReadOnlyRoutingDataSource.onPrimary(loader));
+    }
+
+    /**
+     * Runs after the commit of the writing transaction, if there is one, so that a read racing
+     * with the write cannot cache pre-commit data under the new version.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onStudentChanged(final StudentChangedEvent event) {
+        invalidate();
+    }
+
+    /**
+     * Moves the version on and drops the cached results.
+     */
+    public void invalidate() {
+        version.incrementAndGet();
+        results.invalidateAll();
+    }
+}
@@ -1,39 +1,243 @@
 package com.example.Item.service;
 
+import com.example.Item.configuration.ReadOnlyRoutingDataSource;
 import com.example.Item.model.Student;
-import com.example.Item.repository.StudentRepository;
+import com.example.Item.model.StudentSummary;
+import com.example.Item.repository.StudentStore;
+import io.micrometer.core.annotation.Timed;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.CachePut;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
 import java.util.Optional;
 
+import static com.example.Item.configuration.Caching.STUDENTS;
+import static com.example.Item.service.StudentChangedEvent.Type.BULK;
+import static com.example.Item.service.StudentChangedEvent.Type.CREATED;
+import static com.example.Item.service.StudentChangedEvent.Type.DELETED;
+import static com.example.Item.service.StudentChangedEvent.Type.UPDATED;
+
 @Service
 public class StudentService {
 
+    static final String SERVICE_TIMER = "students.service";
+
+    /**
+     * Ids per set-based statement in the batch operations, well below the bind parameter limit.
+     */
+    static final int BATCH_CHUNK_SIZE = 1000;
+
+    private final StudentStore repository;
 
-    private final StudentRepository repository;
+    private final ApplicationEventPublisher events;
 
     @Autowired
-    public StudentService(StudentRepository  repository) {
+    public StudentService(StudentStore  repository, ApplicationEventPublisher events) {
         this.repository=repository;
+        this.events = events;
+    }
+
+    /**
+     * Offset page of the list columns. This and the other list and search methods read
+     * {@link StudentSummary} rows in a read-only transaction: nothing is managed, so there is
+     * nothing to snapshot or flush. Read-only transactions go to the read replica when one is
+     * configured (see {@code configuration.ReplicaRouting}).
+     */
+    @Timed(SERVICE_TIMER)
+    @Transactional(readOnly = true)
+    public Page<StudentSummary> getStudents(int pageNumber,int size) {
+        return repository.findSummaries(PageRequest.of(pageNumber, size));
+    }
+
+    /**
+     * Keyset page of up to {@code size} students following the given id. Unlike
+     * {@link #getStudents(int, int)} no OFFSET or count query is issued, so the cost of a page
+     * does not depend on how deep it is.
+     */
+    @Timed(SERVICE_TIMER)
+    @Transactional(readOnly = true)
+    public Slice<StudentSummary> getStudentsAfter(int after, int size) {
+        return repository.findSummariesAfter(after, PageRequest.of(0, size));
+    }
+
+    /**
+     * Keyset page of up to {@code size} students preceding the given id, in ascending order.
+     * {@link Slice#hasNext()} tells whether there are further students before this page.
+     */
+    @Timed(SERVICE_TIMER)
+    @Transactional(readOnly = true)
+    public Slice<StudentSummary> getStudentsBefore(int before, int size) {
+        return ascending(repository.findSummariesBefore(before, PageRequest.of(0, size)));
+    }
+
+    /**
+     * Keyset page of students whose first or last name starts with {@code query}, ignoring case,
+     * ordered by that name. The cursor is still the id of the neighbouring student.
+     */
+    @Timed(SERVICE_TIMER)
+    @Transactional(readOnly = true)
+    public Slice<StudentSummary> searchStudentsAfter(String query, int after, int size) {
+        return repository.searchByNameAfter(toPrefix(query), after, PageRequest.of(0, size));
     }
 
-    public Page<Student> getStudents(int pageNumber,int size) {
-        return repository.findAll(PageRequest.of(pageNumber, size));
+    @Timed(SERVICE_TIMER)
+    @Transactional(readOnly = true)
+    public Slice<StudentSummary> searchStudentsBefore(String query, int before, int size) {
+        return ascending(repository.searchByNameBefore(toPrefix(query), before, PageRequest.of(0, size)));
     }
 
+    /**
+     * Cached, so read from the primary even with a replica: a lagging replica would cache a
+     * student that was just changed or deleted. A missing student is not cached, so rows inserted
+     * behind the cache (the bulk import writes with plain JDBC) are found at once.
+     */
+    @Timed(SERVICE_TIMER)
+    @Transactional(readOnly = true)
+    @Cacheable(cacheNames = STUDENTS, key = "#id", unless = "#result == null")
     public Optional<Student> getStudent(int id) {
-        return repository.findById(id);
+        return ReadOnlyRoutingDataSource.onPrimary(() -> repository.findById(id));
     }
 
+    /**
+     * Inserts a new student (id 0) or updates an existing one, provided it still has the version
+     * the caller read. The update is a single conditional statement, without loading the row.
+     *
+     * @throws ObjectOptimisticLockingFailureException when the student was changed or deleted
+     *                                                 since the caller read it; a conflict
+     *                                                 writes nothing, so it does not roll back an
+     *                                                 enclosing transaction
+     */
+    @Timed(SERVICE_TIMER)
+    @Transactional(noRollbackFor = ObjectOptimisticLockingFailureException.class)
+    @CachePut(cacheNames = STUDENTS, key = "#result.id")
     public Student save(Student student) {
-        return repository.save(student);
+
+        final boolean created = student.getId() == 0;
+
+        final Student saved;
+
+        if (created) {
+            saved = repository.save(student);
+        } else if (repository.updateIfVersion(student.getId(), student.getVersion(),
+                student.getFirstName(), student.getLastName()) == 1) {
+            saved = new Student(student.getId(), student.getFirstName(), student.getLastName(), student.getVersion() + 1);
+        } else {
+            throw new ObjectOptimisticLockingFailureException(Student.class, student.getId());
+        }
+
+        events.publishEvent(new StudentChangedEvent(created ? CREATED : UPDATED, saved.getId(), saved));
+
+        return saved;
     }
 
+    /**
+     * Deletes the student with one {@code DELETE ... WHERE s_id IN (:id)}, like {@link #deleteAll},
+     * instead of loading the entity first; a missing student is not an error.
+     */
+    @Timed(SERVICE_TIMER)
+    @Transactional
+    @CacheEvict(cacheNames = STUDENTS, key = "#id")
     public void delete(int id) {
-        repository.deleteById(id);
+
+        if (repository.deleteByIds(List.of(id)) > 0) {
+            events.publishEvent(new StudentChangedEvent(DELETED, id, null));
+        }
+    }
+
+    /**
+     * Deletes the given students with one {@code DELETE ... WHERE s_id IN (...)} per
+     * {@value #BATCH_CHUNK_SIZE} ids, all in one transaction.
+     *
+     * @return the number of rows deleted
+     */
+    @Timed(SERVICE_TIMER)
+    @Transactional
+    @CacheEvict(cacheNames = STUDENTS, allEntries = true)
+    public int deleteAll(Collection<Integer> ids) {
+
+        int affected = 0;
+
+        for (List<Integer> chunk : chunks(ids)) {
+            affected += repository.deleteByIds(chunk);
+        }
+
+        publishBulkChange(affected);
+
+        return affected;
+    }
+
+    /**
+     * Sets the first and/or last name of the given students; {@code null} or blank names are
+     * left unchanged. Runs one {@code UPDATE} per chunk for both names, in one transaction.
+     *
+     * @return the number of students updated
+     */
+    @Timed(SERVICE_TIMER)
+    @Transactional
+    @CacheEvict(cacheNames = STUDENTS, allEntries = true)
+    public int updateAll(Collection<Integer> ids, String firstName, String lastName) {
+
+        final String first = firstName == null || firstName.isBlank() ? null : firstName.strip();
+        final String last = lastName == null || lastName.isBlank() ? null : lastName.strip();
+
+        if (first == null && last == null) {
+            return 0;
+        }
+
+        int affected = 0;
+
+        for (List<Integer> chunk : chunks(ids)) {
+            affected += repository.updateNames(chunk, first, last);
+        }
+
+        publishBulkChange(affected);
+
+        return affected;
+    }
+
+    private void publishBulkChange(int affected) {
+        if (affected > 0) {
+            events.publishEvent(new StudentChangedEvent(BULK, 0, null));
+        }
+    }
+
+    private static List<List<Integer>> chunks(Collection<Integer> ids) {
+
+        final List<Integer> distinct = new ArrayList<>(new LinkedHashSet<>(ids));
+        final List<List<Integer>> chunks = new ArrayList<>();
+
+        for (int from = 0; from < distinct.size(); from += BATCH_CHUNK_SIZE) {
+            chunks.add(distinct.subList(from, Math.min(from + BATCH_CHUNK_SIZE, distinct.size())));
+        }
+
+        return chunks;
+    }
+
+    static String toPrefix(String query) {
+        return query.strip().toLowerCase(Locale.ROOT);
+    }
+
+    private static Slice<StudentSummary> ascending(Slice<StudentSummary> descending) {
+
+        final List<StudentSummary> content = new ArrayList<>(descending.getContent());
+        Collections.reverse(content);
+
+        return new SliceImpl<>(content, descending.getPageable(), descending.hasNext());
     }
 
 
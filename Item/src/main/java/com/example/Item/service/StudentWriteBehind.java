@@ -0,0 +1,311 @@
+package com.example.Item.service;
+
+import com.example.Item.model.Student;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static com.example.Item.configuration.Caching.STUDENTS;
+
+/**
+ * Write-behind for {@link StudentService#save}, enabled with {@code students.write-behind.enabled=true}.
+ * <p>
+ * Saves go into a bounded queue. A single writer thread commits them in groups: whatever arrives
+ * within {@code students.write-behind.window-ms} of the first save, up to
+ * {@code students.write-behind.batch-size}, shares one transaction and one commit. When the queue
+ * is full, callers wait up to {@code students.write-behind.offer-timeout-ms} and are then rejected.
+ * <p>
+ * By default a save returns once it is queued, and a pending update replaces the cached student
+ * so that the next view or edit shows it - but only while the cache still holds the version the
+ * update was based on; see {@link #cachePending}. A new student only appears after its group
+ * commit, because it has no id until then. With {@code students.write-behind.durable-ack=true}
+ * {@link #save} waits for the group commit and reports conflicts like {@link StudentService#save}.
+ * Saves that fail after an early acknowledgement are logged and evicted from the cache.
+ */
+@Service
+@ConditionalOnProperty(name = "students.write-behind.enabled", havingValue = "true")
+public class StudentWriteBehind implements DisposableBean {
+
+    private static final Logger log = LoggerFactory.getLogger(StudentWriteBehind.class);
+
+    private final StudentService service;
+
+    private final TransactionTemplate transactionTemplate;
+
+    private final Cache cache;
+
+    /**
+     * The cache's entries, for the compare-and-set of {@link #cachePending}; the {@link Cache}
+     * interface has none.
+     */
+    private final ConcurrentMap<Object, Object> cacheEntries;
+
+    private final BlockingQueue<PendingSave> queue;
+
+    private final int batchSize;
+
+    private final long windowNanos;
+
+    private final long offerTimeoutMillis;
+
+    private final boolean durableAck;
+
+    private final Thread writer;
+
+    private volatile boolean running = true;
+
+    @Autowired
+    public StudentWriteBehind(final StudentService service,
+                              final PlatformTransactionManager transactionManager,
+                              final CacheManager cacheManager,
+                              @Value("${students.write-behind.queue-capacity:10000}") final int queueCapacity,
+                              @Value("${students.write-behind.batch-size:100}") final int batchSize,
+                              @Value("${students.write-behind.window-ms:20}") final long windowMillis,
+                              @Value("${students.write-behind.offer-timeout-ms:500}") final long offerTimeoutMillis,
+                              @Value("${students.write-behind.durable-ack:false}") final boolean durableAck) {
+        this.service = service;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.cache = cacheManager.getCache(STUDENTS);
+        this.cacheEntries = entries(cache);
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        this.batchSize = batchSize;
+        this.windowNanos = TimeUnit.MILLISECONDS.toNanos(windowMillis);
+        this.offerTimeoutMillis = offerTimeoutMillis;
+        this.durableAck = durableAck;
+        this.writer = new CustomizableThreadFactory("student-writer-").newThread(this::run);
+        this.writer.start();
+    }
+
+    /**
+     * Queues the save and, with durable acknowledgement, waits for its group commit.
+     *
+     * @throws RejectedExecutionException when the queue stays full for the offer timeout
+     * @throws ObjectOptimisticLockingFailureException with durable acknowledgement, when the
+     *                                                 student was changed since it was read
+     */
+    public void save(final Student student) {
+
+        final CompletableFuture<Student> result = submit(student);
+
+        if (durableAck) {
+            try {
+                result.join();
+            } catch (CompletionException e) {
+                throw e.getCause() instanceof RuntimeException ? (RuntimeException) e.getCause() : e;
+            }
+        }
+    }
+
+    /**
+     * @return completes with the saved student after its group committed
+     */
+    public CompletableFuture<Student> submit(final Student student) {
+
+        final PendingSave pending = new PendingSave(student);
+        final Student cached = student.getId() != 0 && !durableAck ? cachePending(student) : null;
+
+        boolean accepted = false;
+
+        try {
+            accepted = running && queue.offer(pending, offerTimeoutMillis, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+
+        if (!accepted) {
+            if (cached != null) {
+                cacheEntries.remove(student.getId(), cached);
+            }
+            throw new RejectedExecutionException("Student write queue is full");
+        }
+
+        return pending.result;
+    }
+
+    /**
+     * Read your own writes, before the writer can commit (and possibly evict) the update: it
+     * replaces the cached student only if that is still the version the update was read with.
+     * Otherwise a conflicting save got there first - it is queued or committed, and this one will
+     * fail - and the cache is left alone. An uncached student is read again after the commit.
+     *
+     * @return the pending student if it was cached, else {@code null}
+     */
+    private Student cachePending(final Student student) {
+
+        final Student pending = new Student(student.getId(), student.getFirstName(), student.getLastName(),
+                student.getVersion() + 1);
+
+        final Object result = cacheEntries.computeIfPresent(student.getId(), (id, cached) ->
+                cached instanceof Student && ((Student) cached).getVersion() == student.getVersion() ? pending : cached);
+
+        return result == pending ? pending : null;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static ConcurrentMap<Object, Object> entries(final Cache cache) {
+
+        final Object entries = cache.getNativeCache();
+
+        if (entries instanceof com.github.benmanes.caffeine.cache.Cache) {
+            return ((com.github.benmanes.caffeine.cache.Cache<Object, Object>) entries).asMap();
+        }
+
+        return (ConcurrentMap<Object, Object>) entries;
+    }
+
+    int getQueueSize() {
+        return queue.size();
+    }
+
+    /**
+     * Stops taking saves and commits the ones still queued.
+     */
+    @Override
+    public void destroy() throws InterruptedException {
+        running = false;
+        writer.join();
+    }
+
+    private void run() {
+
+        final List<PendingSave> group = new ArrayList<>(batchSize);
+
+        while (running || !queue.isEmpty()) {
+            try {
+                final PendingSave first = queue.poll(100, TimeUnit.MILLISECONDS);
+
+                if (first == null) {
+                    continue;
+                }
+
+                group.add(first);
+
+                final long deadline = System.nanoTime() + windowNanos;
+
+                while (group.size() < batchSize) {
+
+                    if (queue.drainTo(group, batchSize - group.size()) > 0) {
+                        continue;
+                    }
+
+                    final long remaining = deadline - System.nanoTime();
+                    final PendingSave next = remaining > 0 ? queue.poll(remaining, TimeUnit.NANOSECONDS) : null;
+
+                    if (next == null) {
+                        break;
+                    }
+
+                    group.add(next);
+                }
+
+                commit(group);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (RuntimeException e) {
+                log.error("Student writer failed", e);
+            } finally {
+                group.clear();
+            }
+        }
+    }
+
+    /**
+     * One transaction for the whole group. A conflict only fails its own save (it writes nothing
+     * and does not roll the transaction back); any other failure rolls the group back, and the
+     * saves are retried one transaction each to single out the failing one. Nothing reaches the
+     * student cache before its transaction committed (the cache is transaction-aware).
+     */
+    private void commit(final List<PendingSave> group) {
+
+        final List<Runnable> completions;
+
+        try {
+            completions = transactionTemplate.execute(status -> {
+
+                final List<Runnable> outcomes = new ArrayList<>(group.size());
+
+                for (PendingSave pending : group) {
+                    outcomes.add(apply(pending));
+                }
+
+                return outcomes;
+            });
+        } catch (RuntimeException e) {
+            log.warn("Group commit of {} students failed, retrying them one by one", group.size(), e);
+
+            for (PendingSave pending : group) {
+                try {
+                    transactionTemplate.execute(status -> apply(pending)).run();
+                } catch (RuntimeException single) {
+                    fail(pending, single);
+                }
+            }
+
+            return;
+        }
+
+        completions.forEach(Runnable::run);
+    }
+
+    private Runnable apply(final PendingSave pending) {
+        try {
+            // A fresh copy per attempt: persisting a new student assigns it an id, which a
+            // rolled-back attempt must not leave behind for the retry.
+            final Student saved = service.save(pending.copy());
+
+            return () -> pending.result.complete(saved);
+        } catch (ObjectOptimisticLockingFailureException e) {
+            return () -> fail(pending, e);
+        }
+    }
+
+    private void fail(final PendingSave pending, final RuntimeException e) {
+
+        if (pending.student.getId() != 0) {
+            cache.evict(pending.student.getId());
+        }
+
+        if (!durableAck) {
+            log.warn("Dropped queued save of student {} - {}", pending.student, e.getMessage());
+        }
+
+        pending.result.completeExceptionally(e);
+    }
+
+    private static final class PendingSave {
+
+        private final Student student;
+
+        private final CompletableFuture<Student> result = new CompletableFuture<>();
+
+        private PendingSave(final Student student) {
+            this.student = new Student(student.getId(), student.getFirstName(), student.getLastName(),
+                    student.getVersion());
+        }
+
+        private Student copy() {
+            return new Student(student.getId(), student.getFirstName(), student.getLastName(), student.getVersion());
+        }
+    }
+}
@@ -4,6 +4,7 @@ import com.example.Item.model.User;
 import com.example.Item.repository.UserRepository;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.userdetails.UserCache;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
 import org.springframework.security.core.userdetails.UserDetails;
@@ -19,9 +20,12 @@ public class UserService implements UserDetailsService {
 
     private final UserRepository repository;
 
+    private final UserCache userCache;
+
     @Autowired
-    public UserService(UserRepository repository) {
+    public UserService(UserRepository repository, UserCache userCache) {
         this.repository = repository;
+        this.userCache = userCache;
     }
 
     @Override
@@ -44,7 +48,12 @@ public class UserService implements UserDetailsService {
     }
 
     public User save(final User user) {
-        return repository.save(user);
+
+        final User saved = repository.save(user);
+
+        userCache.removeUserFromCache(saved.getUsername());
+
+        return saved;
     }
 
 
@@ -0,0 +1,11 @@
+-- Idempotent so databases created earlier by hibernate ddl-auto=update can be baselined onto it.
+CREATE TABLE IF NOT EXISTS table_students (
+    s_id         SERIAL PRIMARY KEY,
+    s_first_name VARCHAR(255),
+    s_last_name  VARCHAR(255)
+);
+
+CREATE TABLE IF NOT EXISTS table_users (
+    u_username      VARCHAR(255) PRIMARY KEY,
+    u_user_password VARCHAR(255)
+);
@@ -0,0 +1,3 @@
+-- Student ids are handed out in blocks of 50 (pooled-lo): one nextval covers 50 inserts, which
+-- lets Hibernate batch them and the bulk import pre-allocate ids. Must match Student.ID_ALLOCATION_SIZE.
+ALTER SEQUENCE table_students_s_id_seq INCREMENT BY 50;
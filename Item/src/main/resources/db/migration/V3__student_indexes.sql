@@ -0,0 +1,7 @@
+-- Case-insensitive prefix search on names (StudentRepository.searchByName*).
+-- text_pattern_ops lets LIKE 'abc%' use the index regardless of the database collation.
+CREATE INDEX IF NOT EXISTS ix_students_last_name_lower ON table_students (lower(s_last_name) text_pattern_ops);
+CREATE INDEX IF NOT EXISTS ix_students_first_name_lower ON table_students (lower(s_first_name) text_pattern_ops);
+
+-- Ordering and keyset paging by last name.
+CREATE INDEX IF NOT EXISTS ix_students_last_name ON table_students (s_last_name, s_id);
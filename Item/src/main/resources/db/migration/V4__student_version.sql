@@ -0,0 +1,2 @@
+-- Optimistic locking: every update of a student bumps its version (Student.version).
+ALTER TABLE table_students ADD COLUMN IF NOT EXISTS s_version INTEGER NOT NULL DEFAULT 0;
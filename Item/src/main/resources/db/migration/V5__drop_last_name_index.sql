@@ -0,0 +1,3 @@
+-- ix_students_last_name (V3) served no query: nothing orders or seeks by the raw last name, so
+-- it only cost an index write per insert and rename.
+DROP INDEX IF EXISTS ix_students_last_name;
@@ -0,0 +1,9 @@
+-- Name search (StudentRepository.SEARCH_AFTER/SEARCH_BEFORE) pages through the matches by
+-- (lower-case name, id), one index per name. The "C" collation orders by code point, so the
+-- names with a given prefix are a range of the index and the keyset cursor is its start key.
+CREATE INDEX IF NOT EXISTS ix_students_last_name_search ON table_students ((lower(s_last_name) COLLATE "C"), s_id);
+CREATE INDEX IF NOT EXISTS ix_students_first_name_search ON table_students ((lower(s_first_name) COLLATE "C"), s_id);
+
+-- The LIKE 'abc%' indexes of V3 could not walk the matches in keyset order; nothing uses them now.
+DROP INDEX IF EXISTS ix_students_last_name_lower;
+DROP INDEX IF EXISTS ix_students_first_name_lower;
@@ -0,0 +1,79 @@
+package com.example.Item.Controller;
+
+import com.example.Item.model.Student;
+import com.example.Item.model.StudentSummary;
+import com.example.Item.service.AsyncStudentService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+
+import static com.example.Item.Controller.StudentApiController.DEFAULT_API_PAGE_SIZE;
+import static java.util.Collections.singletonList;
+import static org.hamcrest.CoreMatchers.is;
+import static org.mockito.BDDMockito.given;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@ExtendWith(SpringExtension.class)
+public class AsyncStudentApiControllerTest {
+
+    private MockMvc mvc;
+
+    @MockBean
+    private AsyncStudentService service;
+
+    @BeforeEach
+    public void setUp() {
+        this.mvc = MockMvcBuilders.standaloneSetup(new AsyncStudentApiController(service)).build();
+    }
+
+    @Test
+    public void list_ReturnsStudentsAsynchronously_WhenStudentsExist() throws Exception {
+
+        final StudentSummary student = new StudentSummary(1, "Anton", "Almishev");
+
+        given(service.getStudentsAfter(0, DEFAULT_API_PAGE_SIZE)).willReturn(CompletableFuture.completedFuture(
+                new SliceImpl<>(singletonList(student), PageRequest.of(0, DEFAULT_API_PAGE_SIZE), false)));
+
+        final MvcResult result = mvc.perform(get("/api/async/students"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        // @formatter:off
+        mvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].lastName", is("Almishev")))
+        ;
+        // @formatter:on
+    }
+
+    @Test
+    public void get_ReturnsNotFound_WhenStudentDoesNotExist() throws Exception {
+
+        given(service.getStudent(10)).willReturn(CompletableFuture.completedFuture(Optional.empty()));
+
+        final MvcResult result = mvc.perform(get("/api/async/students/10")).andReturn();
+
+        mvc.perform(asyncDispatch(result)).andExpect(status().isNotFound());
+    }
+
+    @Test
+    public void get_ReturnsServiceUnavailable_WhenReadPoolIsSaturated() throws Exception {
+
+        given(service.getStudent(1)).willThrow(new RejectedExecutionException("full"));
+
+        mvc.perform(get("/api/async/students/1")).andExpect(status().isServiceUnavailable());
+    }
+}
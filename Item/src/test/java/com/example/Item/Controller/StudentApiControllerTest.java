@@ -0,0 +1,148 @@
+package com.example.Item.Controller;
+
+import com.example.Item.model.Student;
+import com.example.Item.model.StudentSummary;
+import com.example.Item.service.StudentService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.filter.ShallowEtagHeaderFilter;
+
+import java.util.Arrays;
+import java.util.Optional;
+
+import static com.example.Item.Controller.StudentApiController.DEFAULT_API_PAGE_SIZE;
+import static org.hamcrest.CoreMatchers.containsString;
+import static org.hamcrest.CoreMatchers.is;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.BDDMockito.then;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@ExtendWith(SpringExtension.class)
+public class StudentApiControllerTest {
+
+    private MockMvc mvc;
+
+    @MockBean
+    private StudentService service;
+
+    @BeforeEach
+    public void setUp() {
+        this.mvc = MockMvcBuilders.standaloneSetup(new StudentApiController(service))
+                .addFilters(new ShallowEtagHeaderFilter())
+                .build();
+    }
+
+    @Test
+    public void list_ReturnsStudentsWithNextLink_WhenMoreStudentsExist() throws Exception {
+
+        final StudentSummary student1 = new StudentSummary(1, "Nikola", "Bogatinov");
+        final StudentSummary student2 = new StudentSummary(2, "Petyr", "Pavlov");
+
+        given(service.getStudentsAfter(0, DEFAULT_API_PAGE_SIZE))
+                .willReturn(new SliceImpl<>(Arrays.asList(student1, student2), PageRequest.of(0, DEFAULT_API_PAGE_SIZE), true));
+
+        // @formatter:off
+        mvc.perform(
+                        get("/api/students")
+                )
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].firstName", is("Nikola")))
+                .andExpect(jsonPath("$[1].id", is(2)))
+                .andExpect(header().string(HttpHeaders.LINK, containsString("after=2")))
+                .andExpect(header().exists(HttpHeaders.ETAG))
+        ;
+        // @formatter:on
+    }
+
+    @Test
+    public void get_ReturnsNotModified_WhenEtagMatches() throws Exception {
+
+        given(service.getStudent(1)).willReturn(Optional.of(new Student(1, "Anton", "Almishev")));
+
+        final MvcResult first = mvc.perform(get("/api/students/1")).andExpect(status().isOk()).andReturn();
+        final String etag = first.getResponse().getHeader(HttpHeaders.ETAG);
+
+        // @formatter:off
+        mvc.perform(
+                        get("/api/students/1")
+                                .header(HttpHeaders.IF_NONE_MATCH, etag)
+                )
+                .andExpect(status().isNotModified())
+                .andExpect(content().string(""))
+        ;
+        // @formatter:on
+    }
+
+    @Test
+    public void get_ReturnsNotFound_WhenStudentDoesNotExist() throws Exception {
+
+        given(service.getStudent(10)).willReturn(Optional.empty());
+
+        mvc.perform(get("/api/students/10")).andExpect(status().isNotFound());
+    }
+
+    @Test
+    public void create_ReturnsCreatedWithLocation_WhenStudentIsValid() throws Exception {
+
+        given(service.save(any(Student.class))).willAnswer(invocation -> {
+            final Student student = invocation.getArgument(0);
+            student.setId(5);
+            return student;
+        });
+
+        // @formatter:off
+        mvc.perform(
+                        post("/api/students")
+                                .contentType(MediaType.APPLICATION_JSON)
+                                .content("{\"firstName\":\"Anton\",\"lastName\":\"Almishev\"}")
+                )
+                .andExpect(status().isCreated())
+                .andExpect(header().string(HttpHeaders.LOCATION, containsString("/api/students/5")))
+                .andExpect(jsonPath("$.id", is(5)))
+        ;
+        // @formatter:on
+    }
+
+    @Test
+    public void update_ReturnsConflict_WhenVersionIsStale() throws Exception {
+
+        given(service.getStudent(1)).willReturn(Optional.of(new Student(1, "Anton", "Almishev", 2)));
+        given(service.save(any(Student.class))).willThrow(new ObjectOptimisticLockingFailureException(Student.class, 1));
+
+        // @formatter:off
+        mvc.perform(
+                        put("/api/students/1")
+                                .contentType(MediaType.APPLICATION_JSON)
+                                .content("{\"firstName\":\"Antonio\",\"lastName\":\"Almishev\",\"version\":1}")
+                )
+                .andExpect(status().isConflict())
+        ;
+        // @formatter:on
+    }
+
+    @Test
+    public void delete_ReturnsNoContent_WhenStudentExists() throws Exception {
+
+        given(service.getStudent(1)).willReturn(Optional.of(new Student(1, "Anton", "Almishev")));
+
+        mvc.perform(delete("/api/students/1")).andExpect(status().isNoContent());
+
+        then(service).should().delete(1);
+    }
+}
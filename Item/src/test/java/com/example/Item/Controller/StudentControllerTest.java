@@ -1,6 +1,8 @@
 package com.example.Item.Controller;
 
 import com.example.Item.model.Student;
+import com.example.Item.model.StudentSummary;
+import com.example.Item.service.StudentListCache;
 import com.example.Item.service.StudentService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -10,8 +12,12 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.test.context.junit.jupiter.SpringExtension;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 import org.springframework.test.web.servlet.setup.MockMvcBuilders;
 
 import java.util.Arrays;
@@ -42,7 +48,7 @@ public class StudentControllerTest {
 
     @BeforeEach
     public void setUp() {
-        fixture = new StudentController(service);
+        fixture = new StudentController(service, new StudentListCache(100, 60), Optional.empty());
         this.mvc = MockMvcBuilders.standaloneSetup(fixture).build();
     }
 
@@ -68,13 +74,13 @@ public class StudentControllerTest {
         final int pageSize = DEFAULT_PAGE_SIZE;
         final int totalPages = (int) (Math.random() * 100);
 
-        final Student student1 = new Student(1,"Nikola","Bogatinov");
-        final Student student2 = new Student(2, "Petyr","Pavlov");
+        final StudentSummary student1 = new StudentSummary(1,"Nikola","Bogatinov");
+        final StudentSummary student2 = new StudentSummary(2, "Petyr","Pavlov");
 
-        final List<Student> students = Arrays.asList(student1, student2);
+        final List<StudentSummary> students = Arrays.asList(student1, student2);
         final Pageable page = PageRequest.of(pageNumber, pageSize);
 
-        final Page<Student> response = new PageImpl<>(students, page, totalPages);
+        final Page<StudentSummary> response = new PageImpl<>(students, page, totalPages);
 
         given(service.getStudents(pageNumber, pageSize)).willReturn(response);
 
@@ -101,10 +107,10 @@ public class StudentControllerTest {
         final int pageSize = DEFAULT_PAGE_SIZE;
         final int totalPages = (int) (Math.random() * 100);
 
-        final Student student = new Student(1,"Anton","Almishev");
+        final StudentSummary student = new StudentSummary(1,"Anton","Almishev");
         final Pageable page = PageRequest.of(pageNumber, pageSize);
 
-        final Page<Student> response = new PageImpl<>(singletonList(student), page, totalPages);
+        final Page<StudentSummary> response = new PageImpl<>(singletonList(student), page, totalPages);
 
         given(service.getStudents(pageNumber, pageSize)).willReturn(response);
 
@@ -132,10 +138,10 @@ public class StudentControllerTest {
               int pageSize = DEFAULT_PAGE_SIZE;
               int totalPages = DEFAULT_PAGE_SIZE;
 
-        final Student student = new Student(1,"Anton","Almishev");
+        final StudentSummary student = new StudentSummary(1,"Anton","Almishev");
         final Pageable page = PageRequest.of(pageNumber, pageSize);
 
-        final Page<Student> response = new PageImpl<>(singletonList(student), page, totalPages);
+        final Page<StudentSummary> response = new PageImpl<>(singletonList(student), page, totalPages);
 
         given(service.getStudents(pageNumber, pageSize)).willReturn(response);
 
@@ -156,6 +162,94 @@ public class StudentControllerTest {
         then(service).shouldHaveNoMoreInteractions();
     }
 
+    @Test
+    public void list_ReturnsNotModified_WhenNothingChangedSinceLastView() throws Exception {
+
+        final int pageNumber = 0;
+        final int pageSize = DEFAULT_PAGE_SIZE;
+
+        final Page<StudentSummary> response = new PageImpl<>(singletonList(new StudentSummary(1, "Anton", "Almishev")),
+                PageRequest.of(pageNumber, pageSize), 1);
+
+        given(service.getStudents(pageNumber, pageSize)).willReturn(response);
+
+        final MvcResult first = mvc.perform(get("/students/list")).andExpect(status().isOk()).andReturn();
+        final String etag = first.getResponse().getHeader(HttpHeaders.ETAG);
+
+        // @formatter:off
+        mvc.perform(
+                        get("/students/list")
+                                .header(HttpHeaders.IF_NONE_MATCH, etag)
+                )
+                .andExpect(status().isNotModified())
+        ;
+        // @formatter:on
+
+        then(service).should().getStudents(pageNumber, pageSize);
+        then(service).shouldHaveNoMoreInteractions();
+    }
+
+    @Test
+    public void list_ReturnsViewWithCursors_WhenAfterCursorIsGiven() throws Exception {
+
+        final int after = 4;
+        final int pageSize = DEFAULT_PAGE_SIZE;
+
+        final StudentSummary student1 = new StudentSummary(5, "Nikola", "Bogatinov");
+        final StudentSummary student2 = new StudentSummary(6, "Petyr", "Pavlov");
+
+        final SliceImpl<StudentSummary> response = new SliceImpl<>(Arrays.asList(student1, student2), PageRequest.of(0, pageSize), true);
+
+        given(service.getStudentsAfter(after, pageSize)).willReturn(response);
+
+        // @formatter:off
+        mvc.perform(
+                        get("/students/list")
+                                .param("after", String.valueOf(after))
+                                .param("size", String.valueOf(pageSize))
+                )
+                .andExpect(status().isOk())
+                .andExpect(model().attribute("students", hasItems(student1, student2)))
+                .andExpect(model().attribute("previousCursor", is(5)))
+                .andExpect(model().attribute("nextCursor", is(6)))
+                .andExpect(model().attribute("keyset", is(true)))
+                .andExpect(view().name("students/list"))
+        ;
+        // @formatter:on
+
+        then(service).should().getStudentsAfter(after, pageSize);
+        then(service).shouldHaveNoMoreInteractions();
+    }
+
+    @Test
+    public void search_ReturnsFirstMatches_WhenQueryIsGiven() throws Exception {
+
+        final int pageSize = DEFAULT_PAGE_SIZE;
+
+        final StudentSummary student = new StudentSummary(7, "Anton", "Almishev");
+
+        final SliceImpl<StudentSummary> response = new SliceImpl<>(singletonList(student), PageRequest.of(0, pageSize), false);
+
+        given(service.searchStudentsAfter("alm", 0, pageSize)).willReturn(response);
+
+        // @formatter:off
+        mvc.perform(
+                        get("/students/search")
+                                .param("q", "alm")
+                )
+                .andExpect(status().isOk())
+                .andExpect(model().attribute("students", hasItems(student)))
+                .andExpect(model().attribute("previousCursor", is(-1)))
+                .andExpect(model().attribute("nextCursor", is(-1)))
+                .andExpect(model().attribute("query", is("alm")))
+                .andExpect(view().name("students/list"))
+        ;
+        // @formatter:on
+
+        then(service).should().searchStudentsAfter("alm", 0, pageSize);
+        then(service).shouldHaveNoMoreInteractions();
+    }
+
     @Test
     public void view_ReturnsViewPageWithStudentFromDatabase_WhenStudentIdExistsInDatabase() throws Exception {
 
@@ -357,6 +451,32 @@ public class StudentControllerTest {
         then(service).shouldHaveNoMoreInteractions();
     }
 
+    @Test
+    public void save_ShowsCurrentRecordWithConflict_WhenStudentWasChangedMeanwhile() throws Exception {
+
+        Student stale = new Student(1, "Anton", "Almishev", 1);
+        Student current = new Student(1, "Antonio", "Almishev", 2);
+
+        given(service.save(stale)).willThrow(new ObjectOptimisticLockingFailureException(Student.class, 1));
+        given(service.getStudent(1)).willReturn(Optional.of(current));
+
+        // @formatter:off
+        mvc.perform(
+                        post("/students/save")
+                                .flashAttr("student", stale)
+                )
+                .andExpect(status().isConflict())
+                .andExpect(view().name("students/edit"))
+                .andExpect(model().attribute("student", current))
+                .andExpect(model().attribute("conflict", true))
+        ;
+        // @formatter:on
+
+        then(service).should().save(stale);
+        then(service).should().getStudent(1);
+        then(service).shouldHaveNoMoreInteractions();
+    }
+
 
 
     @Test
@@ -380,4 +500,23 @@ public class StudentControllerTest {
         then(service).shouldHaveNoMoreInteractions();
     }
 
+    @Test
+    public void batchDeletion_DeletesSelectedStudents_WhenIdsAreGiven() throws Exception {
+
+        given(service.deleteAll(Arrays.asList(1, 2))).willReturn(2);
+
+        // @formatter:off
+        mvc.perform(
+                        post("/students/batch-delete")
+                                .param("ids", "1", "2")
+                )
+                .andExpect(status().is3xxRedirection())
+                .andExpect(redirectedUrl("list"))
+                .andExpect(flash().attribute("message", is("2 student(s) deleted")))
+        ;
+        // @formatter:on
+
+        then(service).should().deleteAll(Arrays.asList(1, 2));
+        then(service).shouldHaveNoMoreInteractions();
+    }
 }
\ No newline at end of file
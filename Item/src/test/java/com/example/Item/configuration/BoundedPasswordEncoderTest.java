@@ -0,0 +1,62 @@
+package com.example.Item.configuration;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.authentication.InternalAuthenticationServiceException;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.mock;
+
+public class BoundedPasswordEncoderTest {
+
+    private final PasswordEncoder delegate = mock(PasswordEncoder.class);
+
+    private final CountDownLatch hashing = new CountDownLatch(1);
+
+    private BoundedPasswordEncoder fixture;
+
+    @AfterEach
+    public void tearDown() {
+        hashing.countDown();
+        fixture.destroy();
+    }
+
+    @Test
+    public void matches_Fails_WhenHashTakesLongerThanTimeout() {
+
+        fixture = new BoundedPasswordEncoder(delegate, 1, 1, Duration.ofMillis(50));
+
+        given(delegate.matches(any(), any())).willAnswer(invocation -> {
+            hashing.await();
+            return true;
+        });
+
+        assertThatThrownBy(() -> fixture.matches("asroma", "$2a$hash"))
+                .isInstanceOf(InternalAuthenticationServiceException.class);
+    }
+
+    @Test
+    public void matches_IsRejected_WhenQueueIsFull() {
+
+        fixture = new BoundedPasswordEncoder(delegate, 1, 1, Duration.ofMillis(50));
+
+        given(delegate.matches(any(), any())).willAnswer(invocation -> {
+            hashing.await();
+            return true;
+        });
+
+        // One hashing, one queued.
+        assertThatThrownBy(() -> fixture.matches("asroma", "$2a$hash"));
+        assertThatThrownBy(() -> fixture.matches("asroma", "$2a$hash"));
+
+        assertThatThrownBy(() -> fixture.matches("asroma", "$2a$hash"))
+                .isInstanceOf(InternalAuthenticationServiceException.class)
+                .hasMessageContaining("Too many");
+    }
+}
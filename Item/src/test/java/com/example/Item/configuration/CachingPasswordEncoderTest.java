@@ -0,0 +1,51 @@
+package com.example.Item.configuration;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.BDDMockito.then;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+
+public class CachingPasswordEncoderTest {
+
+    private final PasswordEncoder delegate = mock(PasswordEncoder.class);
+
+    private final CachingPasswordEncoder fixture = new CachingPasswordEncoder(delegate, Duration.ofMinutes(1), 100);
+
+    @Test
+    public void matches_HashesOnce_WhenSameCredentialsRepeat() {
+
+        given(delegate.matches("asroma", "$2a$hash")).willReturn(true);
+
+        assertThat(fixture.matches("asroma", "$2a$hash")).isTrue();
+        assertThat(fixture.matches("asroma", "$2a$hash")).isTrue();
+
+        then(delegate).should(times(1)).matches("asroma", "$2a$hash");
+    }
+
+    @Test
+    public void matches_HashesEveryTime_WhenPasswordIsWrong() {
+
+        given(delegate.matches("lazio", "$2a$hash")).willReturn(false);
+
+        assertThat(fixture.matches("lazio", "$2a$hash")).isFalse();
+        assertThat(fixture.matches("lazio", "$2a$hash")).isFalse();
+
+        then(delegate).should(times(2)).matches("lazio", "$2a$hash");
+    }
+
+    @Test
+    public void matches_AsksDelegate_WhenStoredHashChanged() {
+
+        given(delegate.matches("asroma", "$2a$hash")).willReturn(true);
+        given(delegate.matches("asroma", "$2a$other")).willReturn(false);
+
+        assertThat(fixture.matches("asroma", "$2a$hash")).isTrue();
+        assertThat(fixture.matches("asroma", "$2a$other")).isFalse();
+    }
+}
@@ -0,0 +1,39 @@
+package com.example.Item.configuration;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class InMemoryTransactionsTest {
+
+    private final TransactionTemplate fixture =
+            new TransactionTemplate(new InMemoryTransactions().studentTransactionManager());
+
+    @Test
+    public void execute_RunsAfterCommitCallbacks_WithoutAnyResource() {
+
+        final AtomicBoolean committed = new AtomicBoolean();
+
+        fixture.executeWithoutResult(status -> {
+
+            assertThat(TransactionSynchronizationManager.isActualTransactionActive()).isTrue();
+            assertThat(TransactionSynchronizationManager.getResourceMap()).isEmpty();
+
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    committed.set(true);
+                }
+            });
+
+            assertThat(committed).isFalse();
+        });
+
+        assertThat(committed).isTrue();
+    }
+}
@@ -0,0 +1,117 @@
+package com.example.Item.configuration;
+
+import com.example.Item.Controller.StudentController;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.proxy.ResultSetProxyLogic;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.method.HandlerMethod;
+
+import java.lang.reflect.Method;
+import java.sql.ResultSet;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static com.example.Item.configuration.QueryMetricsInterceptor.ROWS;
+import static com.example.Item.configuration.QueryMetricsInterceptor.STATEMENTS;
+import static java.util.Collections.emptyList;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.mock;
+
+public class QueryMetricsInterceptorTest {
+
+    private SimpleMeterRegistry registry;
+
+    private QueryCounter counter;
+
+    private QueryMetricsInterceptor fixture;
+
+    private HandlerMethod handler;
+
+    @BeforeEach
+    public void setUp() throws Exception {
+        registry = new SimpleMeterRegistry();
+        counter = new QueryCounter();
+        fixture = new QueryMetricsInterceptor(registry, counter);
+        handler = new HandlerMethod(new StudentController(null, null, Optional.empty()),
+                StudentController.class.getMethod("index"));
+    }
+
+    @Test
+    public void afterCompletion_RecordsStatementsAndRows_WhenHandlerMethodCompletes() throws Exception {
+
+        final MockHttpServletRequest request = new MockHttpServletRequest();
+        final MockHttpServletResponse response = new MockHttpServletResponse();
+
+        // Outside of a request: not counted.
+        executeQuery(3);
+
+        fixture.preHandle(request, response, handler);
+
+        executeQuery(2);
+        executeQuery(0);
+
+        fixture.afterCompletion(request, response, handler, null);
+
+        assertThat(summary(STATEMENTS).totalAmount()).isEqualTo(2);
+        assertThat(summary(ROWS).totalAmount()).isEqualTo(2);
+    }
+
+    @Test
+    public void afterCompletion_CountsWorkOfOtherThreads_WhenRequestIsAsync() throws Exception {
+
+        final MockHttpServletRequest request = new MockHttpServletRequest();
+        final MockHttpServletResponse response = new MockHttpServletResponse();
+
+        fixture.preHandle(request, response, handler);
+
+        executeQuery(1);
+
+        final CompletableFuture<Void> work = CompletableFuture.supplyAsync(counter.wrap(() -> executeQuery(5)));
+
+        fixture.afterConcurrentHandlingStarted(request, response, handler);
+        work.join();
+
+        // The dispatch that completes the request.
+        fixture.preHandle(request, response, handler);
+        fixture.afterCompletion(request, response, handler, null);
+
+        assertThat(summary(STATEMENTS).totalAmount()).isEqualTo(2);
+        assertThat(summary(ROWS).totalAmount()).isEqualTo(6);
+    }
+
+    /**
+     * A statement whose result set has the given number of rows, read through the counter's proxy.
+     */
+    private Void executeQuery(final int rows) {
+        try {
+            final ResultSet resultSet = mock(ResultSet.class);
+            final AtomicInteger remaining = new AtomicInteger(rows);
+
+            given(resultSet.next()).willAnswer(invocation -> remaining.getAndDecrement() > 0);
+
+            counter.afterQuery(new ExecutionInfo(), emptyList());
+
+            final ResultSetProxyLogic proxy = counter.create(resultSet, null, null);
+            final Method next = ResultSet.class.getMethod("next");
+
+            while (Boolean.TRUE.equals(proxy.invoke(next, null))) {
+                // every row is read
+            }
+
+            return null;
+        } catch (Throwable e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private DistributionSummary summary(final String meter) {
+        return registry.get(meter).tag("method", "index").summary();
+    }
+}
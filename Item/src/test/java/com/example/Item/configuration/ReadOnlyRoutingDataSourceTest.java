@@ -0,0 +1,67 @@
+package com.example.Item.configuration;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.mock;
+
+public class ReadOnlyRoutingDataSourceTest {
+
+    private final DataSource primary = mock(DataSource.class);
+
+    private final DataSource replica = mock(DataSource.class);
+
+    private final Connection primaryConnection = mock(Connection.class);
+
+    private final Connection replicaConnection = mock(Connection.class);
+
+    private final ReadOnlyRoutingDataSource fixture = new ReadOnlyRoutingDataSource(primary, replica);
+
+    @AfterEach
+    public void tearDown() {
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(false);
+    }
+
+    @Test
+    public void getConnection_UsesReplica_WhenTransactionIsReadOnly() throws Exception {
+
+        given(replica.getConnection()).willReturn(replicaConnection);
+
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+
+        assertThat(fixture.getConnection()).isSameAs(replicaConnection);
+    }
+
+    @Test
+    public void getConnection_UsesPrimary_WhenTransactionIsReadWrite() throws Exception {
+
+        given(primary.getConnection()).willReturn(primaryConnection);
+
+        assertThat(fixture.getConnection()).isSameAs(primaryConnection);
+    }
+
+    @Test
+    public void getConnection_UsesPrimary_WhenReadOnlyTransactionRunsOnPrimary() throws Exception {
+
+        given(primary.getConnection()).willReturn(primaryConnection);
+
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+
+        assertThat(ReadOnlyRoutingDataSource.onPrimary(this::connection)).isSameAs(primaryConnection);
+    }
+
+    private Connection connection() {
+        try {
+            return fixture.getConnection();
+        } catch (SQLException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
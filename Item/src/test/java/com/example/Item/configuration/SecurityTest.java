@@ -0,0 +1,39 @@
+package com.example.Item.configuration;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockHttpServletRequest;
+
+import javax.servlet.http.Cookie;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class SecurityTest {
+
+    @Test
+    public void credentialsHeader_SkipsCsrf_WhenRequestCarriesBasicOrBearerCredentials() {
+
+        final MockHttpServletRequest basic = new MockHttpServletRequest("POST", "/students/import");
+        basic.addHeader(HttpHeaders.AUTHORIZATION, "Basic dG9uaTphc3JvbWE=");
+
+        final MockHttpServletRequest bearer = new MockHttpServletRequest("POST", "/api/students");
+        bearer.addHeader(HttpHeaders.AUTHORIZATION, "bearer abc.def.ghi");
+
+        assertThat(Security.CREDENTIALS_HEADER.matches(basic)).isTrue();
+        assertThat(Security.CREDENTIALS_HEADER.matches(bearer)).isTrue();
+    }
+
+    @Test
+    public void credentialsHeader_KeepsCsrf_WhenRequestReliesOnCookies() {
+
+        final MockHttpServletRequest formPost = new MockHttpServletRequest("POST", "/api/students");
+        formPost.setContentType("text/plain");
+        formPost.setCookies(new Cookie("JSESSIONID", "1"));
+
+        final MockHttpServletRequest other = new MockHttpServletRequest("POST", "/students/import");
+        other.addHeader(HttpHeaders.AUTHORIZATION, "Negotiate abc");
+
+        assertThat(Security.CREDENTIALS_HEADER.matches(formPost)).isFalse();
+        assertThat(Security.CREDENTIALS_HEADER.matches(other)).isFalse();
+    }
+}
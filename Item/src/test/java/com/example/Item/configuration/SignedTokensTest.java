@@ -0,0 +1,150 @@
+package com.example.Item.configuration;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.List;
+import java.util.Optional;
+
+import static java.util.Collections.singletonList;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class SignedTokensTest {
+
+    private static final String OLD_KEY = "old:" + secret('o');
+
+    private static final String NEW_KEY = "new:" + secret('n');
+
+    private static final Instant NOW = Instant.parse("2026-10-18T10:00:00Z");
+
+    private static final List<GrantedAuthority> USER = singletonList(new SimpleGrantedAuthority("ROLE_USER"));
+
+    @Test
+    public void verify_ReturnsUserAndRoles_WhenTokenIsValid() {
+
+        final SignedTokens fixture = tokens(NEW_KEY, NOW);
+
+        final Optional<SignedTokens.Token> actual = fixture.verify(fixture.issue("toni", USER));
+
+        assertThat(actual).isPresent();
+        assertThat(actual.get().getUsername()).isEqualTo("toni");
+        assertThat(actual.get().getAuthorities()).isEqualTo(USER);
+        assertThat(actual.get().getExpiresAt()).isEqualTo(NOW.plusSeconds(900));
+    }
+
+    @Test
+    public void verify_RejectsToken_WhenPayloadWasTamperedWith() {
+
+        final SignedTokens fixture = tokens(NEW_KEY, NOW);
+
+        final String[] parts = fixture.issue("toni", USER).split("\\.");
+        final String forged = Base64.getUrlEncoder().withoutPadding().encodeToString(
+                new String(Base64.getUrlDecoder().decode(parts[1]), StandardCharsets.UTF_8)
+                        .replace("toni", "root").getBytes(StandardCharsets.UTF_8));
+
+        assertThat(fixture.verify(parts[0] + "." + forged + "." + parts[2])).isEmpty();
+        assertThat(fixture.verify("not-a-token")).isEmpty();
+    }
+
+    @Test
+    public void verify_RejectsToken_WhenItExpired() {
+
+        final String token = tokens(NEW_KEY, NOW).issue("toni", USER);
+
+        assertThat(tokens(NEW_KEY, NOW.plusSeconds(899)).verify(token)).isPresent();
+        assertThat(tokens(NEW_KEY, NOW.plusSeconds(900)).verify(token)).isEmpty();
+    }
+
+    @Test
+    public void verify_AcceptsTokenOfPreviousKey_WhenKeysAreRotated() {
+
+        final String signedWithOldKey = tokens(OLD_KEY, NOW).issue("toni", USER);
+
+        final SignedTokens rotated = tokens(NEW_KEY + "," + OLD_KEY, NOW);
+
+        assertThat(rotated.verify(signedWithOldKey)).isPresent();
+        assertThat(tokens(NEW_KEY, NOW).verify(signedWithOldKey)).isEmpty();
+        assertThat(tokens(OLD_KEY, NOW).verify(rotated.issue("toni", USER))).isEmpty();
+    }
+
+    @Test
+    public void isDueForRenewal_IsTrue_WhenHalfOfLifetimePassed() {
+
+        final SignedTokens.Token token = tokens(NEW_KEY, NOW).verify(tokens(NEW_KEY, NOW).issue("toni", USER)).get();
+
+        assertThat(tokens(NEW_KEY, NOW.plusSeconds(400)).isDueForRenewal(token)).isFalse();
+        assertThat(tokens(NEW_KEY, NOW.plusSeconds(500)).isDueForRenewal(token)).isTrue();
+    }
+
+    @Test
+    public void renew_KeepsLoginTime_AndStopsAtMaxAge() {
+
+        final SignedTokens.Token login = tokens(NEW_KEY, NOW).verify(tokens(NEW_KEY, NOW).issue("toni", USER)).get();
+
+        final SignedTokens later = tokens(NEW_KEY, NOW.plusSeconds(2000));
+        final SignedTokens.Token renewed = later.verify(later.renew(login)).get();
+
+        assertThat(renewed.getOriginallyIssuedAt()).isEqualTo(NOW);
+        assertThat(renewed.getExpiresAt()).isEqualTo(NOW.plusSeconds(2900));
+
+        // 3600 s max age: the last renewal expires with the login and is not renewed again.
+        final SignedTokens last = tokens(NEW_KEY, NOW.plusSeconds(3300));
+        final SignedTokens.Token capped = last.verify(last.renew(renewed)).get();
+
+        assertThat(capped.getExpiresAt()).isEqualTo(NOW.plusSeconds(3600));
+        assertThat(tokens(NEW_KEY, NOW.plusSeconds(3590)).isDueForRenewal(capped)).isFalse();
+        assertThat(tokens(NEW_KEY, NOW.plusSeconds(3600)).verify(last.renew(renewed))).isEmpty();
+    }
+
+    @Test
+    public void issue_RenewsToken_WhenAuthenticationCameFromToken() {
+
+        final SignedTokens.Token login = tokens(NEW_KEY, NOW).verify(tokens(NEW_KEY, NOW).issue("toni", USER)).get();
+
+        final SignedTokens later = tokens(NEW_KEY, NOW.plusSeconds(3000));
+
+        assertThat(later.verify(later.issue(login.toAuthentication())).get().getOriginallyIssuedAt()).isEqualTo(NOW);
+    }
+
+    @Test
+    public void verify_RejectsToken_WhenLoginIsOlderThanMaxAge() {
+
+        final SignedTokens longLived = new SignedTokens(new ObjectMapper(), NEW_KEY, Duration.ofHours(2),
+                Duration.ofHours(1), Clock.fixed(NOW, ZoneOffset.UTC));
+        final String token = longLived.issue("toni", USER);
+
+        assertThat(tokens(NEW_KEY, NOW.plusSeconds(3599)).verify(token)).isPresent();
+        assertThat(tokens(NEW_KEY, NOW.plusSeconds(3600)).verify(token)).isEmpty();
+    }
+
+    @Test
+    public void constructor_Fails_WhenKeyIsTooShort() {
+        assertThatThrownBy(() -> tokens("short:" + Base64.getEncoder().encodeToString(new byte[16]), NOW))
+                .isInstanceOf(IllegalStateException.class);
+        assertThatThrownBy(() -> tokens("", NOW)).isInstanceOf(IllegalStateException.class);
+    }
+
+    private static SignedTokens tokens(final String keys, final Instant now) {
+        return new SignedTokens(new ObjectMapper(), keys, Duration.ofSeconds(900), Duration.ofSeconds(3600),
+                Clock.fixed(now, ZoneOffset.UTC));
+    }
+
+    private static String secret(final char fill) {
+
+        final byte[] secret = new byte[32];
+
+        Arrays.fill(secret, (byte) fill);
+
+        return Base64.getEncoder().encodeToString(secret);
+    }
+}
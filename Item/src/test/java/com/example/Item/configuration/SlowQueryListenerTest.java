@@ -0,0 +1,66 @@
+package com.example.Item.configuration;
+
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.proxy.ParameterSetOperation;
+import org.junit.jupiter.api.Test;
+
+import java.sql.PreparedStatement;
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.List;
+
+import static com.example.Item.configuration.SlowQueryListener.MAX_LOGGED_PARAMETER_SETS;
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class SlowQueryListenerTest {
+
+    @Test
+    public void describe_IncludesCallerAndParameters_WhenQueryHasBindings() throws Exception {
+
+        final QueryInfo query = new QueryInfo("select * from table_students where s_id > ?");
+        query.getParametersList().add(List.of(parameter(1, 42)));
+
+        final String actual = SlowQueryListener.describe(250, "StudentService.getStudentsAfter", query);
+
+        assertThat(actual).isEqualTo("Slow query: 250 ms from StudentService.getStudentsAfter: "
+                + "select * from table_students where s_id > ? params [42]");
+    }
+
+    @Test
+    public void describe_TruncatesParameterSets_WhenBatchIsLarge() throws Exception {
+
+        final QueryInfo query = new QueryInfo("insert into table_students values (?, ?)");
+
+        for (int i = 0; i < MAX_LOGGED_PARAMETER_SETS + 5; i++) {
+            final List<ParameterSetOperation> set = new ArrayList<>();
+            set.add(parameter(1, "First" + i));
+            set.add(parameter(2, "Last" + i));
+            query.getParametersList().add(set);
+        }
+
+        final String actual = SlowQueryListener.describe(900, "StudentImportService.importStudents", query);
+
+        assertThat(actual).contains("[First0, Last0]").endsWith("(+5 more)");
+    }
+
+    @Test
+    public void describe_ListsParametersInIndexOrderWithNulls_WhenSetOutOfOrder() throws Exception {
+
+        final QueryInfo query = new QueryInfo("update table_students set s_first_name = ?, s_last_name = ? where s_id = ?");
+        query.getParametersList().add(List.of(parameter(3, 7), nullParameter(2, Types.VARCHAR), parameter(1, "Anton")));
+
+        final String actual = SlowQueryListener.describe(300, "StudentService.save", query);
+
+        assertThat(actual).endsWith(" params [Anton, null, 7]");
+    }
+
+    private static ParameterSetOperation nullParameter(final int index, final int sqlType) throws Exception {
+        return new ParameterSetOperation(PreparedStatement.class.getMethod("setNull", int.class, int.class),
+                new Object[]{index, sqlType});
+    }
+
+    private static ParameterSetOperation parameter(final int index, final Object value) throws Exception {
+        return new ParameterSetOperation(PreparedStatement.class.getMethod("setObject", int.class, Object.class),
+                new Object[]{index, value});
+    }
+}
@@ -0,0 +1,137 @@
+package com.example.Item.repository;
+
+import com.example.Item.model.Student;
+import com.example.Item.model.StudentSummary;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class InMemoryStudentStoreTest {
+
+    private InMemoryStudentStore fixture;
+
+    @BeforeEach
+    public void setUp() throws Exception {
+        fixture = new InMemoryStudentStore("", 0);
+    }
+
+    @Test
+    public void findSummariesAfter_ReturnsIdOrderAcrossStripes_WhenManyStudentsExist() {
+
+        for (int i = 1; i <= 100; i++) {
+            fixture.save(new Student(0, "First" + i, "Last" + i));
+        }
+
+        final Slice<StudentSummary> actual = fixture.findSummariesAfter(30, PageRequest.of(0, 5));
+
+        assertThat(actual.getContent()).extracting(StudentSummary::getId).containsExactly(31, 32, 33, 34, 35);
+        assertThat(actual.hasNext()).isTrue();
+
+        final Slice<StudentSummary> before = fixture.findSummariesBefore(3, PageRequest.of(0, 5));
+
+        assertThat(before.getContent()).extracting(StudentSummary::getId).containsExactly(2, 1);
+        assertThat(before.hasNext()).isFalse();
+
+        final Page<StudentSummary> page = fixture.findSummaries(PageRequest.of(3, 10));
+
+        assertThat(page.getContent()).extracting(StudentSummary::getId).startsWith(31).hasSize(10);
+        assertThat(page.getTotalElements()).isEqualTo(100);
+    }
+
+    @Test
+    public void searchByNameAfter_MatchesEitherNamePrefix_InMatchedNameOrder() {
+
+        fixture.save(new Student(0, "Anton", "Almishev"));
+        fixture.save(new Student(0, "Petyr", "Pavlov"));
+        fixture.save(new Student(0, "Alma", "Bogatinova"));
+        fixture.save(new Student(0, "50%_off", "Sale"));
+
+        final Slice<StudentSummary> actual = fixture.searchByNameAfter("al", 0, PageRequest.of(0, 10));
+
+        assertThat(actual.getContent()).extracting(StudentSummary::getId).containsExactly(3, 1);
+
+        final Slice<StudentSummary> literal = fixture.searchByNameAfter("50%_", 0, PageRequest.of(0, 10));
+
+        assertThat(literal.getContent()).extracting(StudentSummary::getId).containsExactly(4);
+    }
+
+    @Test
+    public void searchByNameBefore_PagesBackFromCursor_InMatchedNameOrder() {
+
+        fixture.save(new Student(0, "Anton", "Almishev"));
+        fixture.save(new Student(0, "Alma", "Bogatinova"));
+        fixture.save(new Student(0, "Albena", "Aleksieva"));
+
+        final Slice<StudentSummary> first = fixture.searchByNameAfter("al", 0, PageRequest.of(0, 2));
+
+        assertThat(first.getContent()).extracting(StudentSummary::getId).containsExactly(3, 2);
+        assertThat(first.hasNext()).isTrue();
+
+        final Slice<StudentSummary> next = fixture.searchByNameAfter("al", 2, PageRequest.of(0, 2));
+
+        assertThat(next.getContent()).extracting(StudentSummary::getId).containsExactly(1);
+
+        final Slice<StudentSummary> previous = fixture.searchByNameBefore("al", 1, PageRequest.of(0, 2));
+
+        assertThat(previous.getContent()).extracting(StudentSummary::getId).containsExactly(2, 3);
+    }
+
+    @Test
+    public void updateIfVersion_RejectsStaleVersion_WhenStudentWasUpdated() {
+
+        final Student saved = fixture.save(new Student(0, "Anton", "Almishev"));
+
+        assertThat(fixture.updateIfVersion(saved.getId(), 0, "Antonio", "Almishev")).isEqualTo(1);
+        assertThat(fixture.updateIfVersion(saved.getId(), 0, "Toni", "Almishev")).isZero();
+
+        assertThat(fixture.findById(saved.getId())).contains(new Student(saved.getId(), "Antonio", "Almishev", 1));
+    }
+
+    @Test
+    public void deleteByIds_KeepsOtherStudentsReachable_WhenProbeRunsShift() {
+
+        for (int i = 1; i <= 1000; i++) {
+            fixture.save(new Student(0, "First" + i, "Last" + i));
+        }
+
+        final List<Integer> odd = new ArrayList<>();
+
+        for (int i = 1; i <= 1000; i += 2) {
+            odd.add(i);
+        }
+
+        assertThat(fixture.deleteByIds(odd)).isEqualTo(500);
+
+        for (int i = 1; i <= 1000; i++) {
+            assertThat(fixture.findById(i).isPresent()).isEqualTo(i % 2 == 0);
+        }
+
+        assertThat(fixture.count()).isEqualTo(500);
+    }
+
+    @Test
+    public void snapshot_RestoresStudents_WhenStoreIsReopened(@TempDir final Path directory) throws Exception {
+
+        final String file = directory.resolve("students.snapshot").toString();
+
+        final InMemoryStudentStore store = new InMemoryStudentStore(file, 0);
+        store.save(new Student(0, "Anton", "Almishev"));
+        store.save(new Student(0, "Petyr", null));
+        store.updateNames(List.of(2), null, "Pavlov");
+        store.destroy();
+
+        final InMemoryStudentStore reopened = new InMemoryStudentStore(file, 0);
+
+        assertThat(reopened.findById(2)).contains(new Student(2, "Petyr", "Pavlov", 1));
+        assertThat(reopened.save(new Student(0, "Nikola", "Bogatinov")).getId()).isEqualTo(3);
+    }
+}
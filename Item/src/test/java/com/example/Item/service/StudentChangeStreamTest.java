@@ -0,0 +1,178 @@
+package com.example.Item.service;
+
+import com.example.Item.model.Student;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import static com.example.Item.service.StudentChangedEvent.Type.CREATED;
+import static com.example.Item.service.StudentChangedEvent.Type.DELETED;
+import static com.example.Item.service.StudentChangedEvent.Type.UPDATED;
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class StudentChangeStreamTest {
+
+    private StudentChangeStream fixture;
+
+    @AfterEach
+    public void tearDown() {
+        fixture.destroy();
+    }
+
+    @Test
+    public void onStudentChanged_PushesEventToEverySubscriber_WhenStudentIsSaved() throws Exception {
+
+        fixture = new StudentChangeStream(16, 64, 0, 60000);
+
+        final RecordingEmitter first = new RecordingEmitter();
+        final RecordingEmitter second = new RecordingEmitter();
+
+        fixture.subscribe(first, null);
+        fixture.subscribe(second, null);
+
+        fixture.onStudentChanged(new StudentChangedEvent(UPDATED, 1, new Student(1, "Anton", "Almishev", 1)));
+
+        for (RecordingEmitter emitter : new RecordingEmitter[]{first, second}) {
+            assertThat(emitter.next()).isEqualTo("id:" + fixture.getEpoch() + "-0\n\n");
+            assertThat(emitter.next()).startsWith("id:" + fixture.getEpoch() + "-1\nevent:UPDATED\ndata:")
+                    .contains("Almishev");
+        }
+    }
+
+    @Test
+    public void subscribe_ReplaysMissedEvents_WhenLastEventIdIsStillInRing() throws Exception {
+
+        fixture = new StudentChangeStream(16, 64, 0, 60000);
+
+        fixture.onStudentChanged(new StudentChangedEvent(CREATED, 1, new Student(1, "Anton", "Almishev", 0)));
+        fixture.onStudentChanged(new StudentChangedEvent(CREATED, 2, new Student(2, "Petyr", "Pavlov", 0)));
+        fixture.onStudentChanged(new StudentChangedEvent(DELETED, 1, null));
+
+        final RecordingEmitter emitter = new RecordingEmitter();
+
+        fixture.subscribe(emitter, fixture.getEpoch() + "-1");
+
+        assertThat(emitter.next()).startsWith("id:" + fixture.getEpoch() + "-2\nevent:CREATED\n");
+        assertThat(emitter.next()).startsWith("id:" + fixture.getEpoch() + "-3\nevent:DELETED\n");
+    }
+
+    @Test
+    public void subscribe_SendsReset_WhenLastEventIdIsUnknown() throws Exception {
+
+        fixture = new StudentChangeStream(16, 2, 0, 60000);
+
+        for (int i = 1; i <= 5; i++) {
+            fixture.onStudentChanged(new StudentChangedEvent(DELETED, i, null));
+        }
+
+        final RecordingEmitter outOfRing = new RecordingEmitter();
+        final RecordingEmitter restarted = new RecordingEmitter();
+        final RecordingEmitter garbled = new RecordingEmitter();
+
+        fixture.subscribe(outOfRing, fixture.getEpoch() + "-1");
+        // Same sequence, but of an earlier start (or another instance).
+        fixture.subscribe(restarted, "x" + fixture.getEpoch() + "-4");
+        fixture.subscribe(garbled, "4");
+
+        final String reset = "id:" + fixture.getEpoch() + "-5\nevent:RESET\ndata:" + fixture.getEpoch() + "-5\n\n";
+
+        assertThat(outOfRing.next()).isEqualTo(reset);
+        assertThat(restarted.next()).isEqualTo(reset);
+        assertThat(garbled.next()).isEqualTo(reset);
+    }
+
+    @Test
+    public void onStudentChanged_DisconnectsSubscriber_WhenItsBufferOverflows() throws Exception {
+
+        fixture = new StudentChangeStream(2, 64, 0, 60000);
+
+        final RecordingEmitter slow = new RecordingEmitter();
+
+        slow.gate = new CountDownLatch(1);
+
+        fixture.subscribe(slow, null);
+
+        // The baseline id is being written, so the events pile up in the buffer behind it.
+        assertThat(slow.sending.await(5, TimeUnit.SECONDS)).isTrue();
+
+        for (int i = 1; i <= 5; i++) {
+            fixture.onStudentChanged(new StudentChangedEvent(DELETED, i, null));
+        }
+
+        slow.gate.countDown();
+
+        assertThat(slow.completed.await(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(fixture.getSubscriberCount()).isZero();
+        assertThat(slow.next()).isEqualTo("id:" + fixture.getEpoch() + "-0\n\n");
+        assertThat(slow.next()).isNull();
+    }
+
+    @Test
+    public void onStudentChanged_ReachesSubscriber_WhenOtherSubscribersAreBlockedInSend() throws Exception {
+
+        fixture = new StudentChangeStream(16, 64, 0, 60000);
+
+        final RecordingEmitter stuck = new RecordingEmitter();
+        final RecordingEmitter alsoStuck = new RecordingEmitter();
+        final RecordingEmitter reading = new RecordingEmitter();
+
+        stuck.gate = new CountDownLatch(1);
+        alsoStuck.gate = new CountDownLatch(1);
+
+        fixture.subscribe(stuck, null);
+        fixture.subscribe(alsoStuck, null);
+
+        // Full socket buffers: both writes hang.
+        assertThat(stuck.sending.await(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(alsoStuck.sending.await(5, TimeUnit.SECONDS)).isTrue();
+
+        fixture.subscribe(reading, null);
+        fixture.onStudentChanged(new StudentChangedEvent(DELETED, 1, null));
+
+        assertThat(reading.next()).isEqualTo("id:" + fixture.getEpoch() + "-0\n\n");
+        assertThat(reading.next()).startsWith("id:" + fixture.getEpoch() + "-1\nevent:DELETED\n");
+        assertThat(stuck.sent).isEmpty();
+    }
+
+    private static final class RecordingEmitter extends SseEmitter {
+
+        private final BlockingQueue<String> sent = new LinkedBlockingQueue<>();
+
+        private final CountDownLatch completed = new CountDownLatch(1);
+
+        private final CountDownLatch sending = new CountDownLatch(1);
+
+        private volatile CountDownLatch gate = new CountDownLatch(0);
+
+        @Override
+        public void send(final SseEventBuilder builder) throws IOException {
+
+            sending.countDown();
+
+            try {
+                gate.await();
+            } catch (InterruptedException e) {
+                throw new InterruptedIOException();
+            }
+
+            sent.add(builder.build().stream().map(data -> String.valueOf(data.getData())).collect(Collectors.joining()));
+        }
+
+        @Override
+        public void complete() {
+            completed.countDown();
+        }
+
+        private String next() throws InterruptedException {
+            return sent.poll(5, TimeUnit.SECONDS);
+        }
+    }
+}
@@ -0,0 +1,104 @@
+package com.example.Item.service;
+
+import com.example.Item.model.Student;
+import com.example.Item.model.StudentSummary;
+import com.example.Item.repository.InMemoryStudentStore;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.io.StringWriter;
+import java.util.Arrays;
+import java.util.Optional;
+
+import static com.example.Item.service.StudentExportService.SELECT_SQL;
+import static java.util.Collections.emptyList;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.BDDMockito.then;
+import static org.mockito.Mockito.times;
+
+@ExtendWith(SpringExtension.class)
+public class StudentExportServiceTest {
+
+    @MockBean
+    private JdbcTemplate jdbcTemplate;
+
+    @MockBean
+    private PlatformTransactionManager transactionManager;
+
+    private StudentExportService fixture;
+
+    @BeforeEach
+    public void setUp() {
+        fixture = new StudentExportService(jdbcTemplate, transactionManager, new ObjectMapper(), Optional.empty(), 2);
+
+        given(jdbcTemplate.query(eq(SELECT_SQL), any(RowMapper.class), eq(0), eq(2))).willReturn(Arrays.asList(
+                new StudentSummary(1, "Anton", "Almishev"),
+                new StudentSummary(2, "Petyr, Jr.", "Pavlov")));
+        given(jdbcTemplate.query(eq(SELECT_SQL), any(RowMapper.class), eq(2), eq(2))).willReturn(emptyList());
+    }
+
+    @Test
+    public void exportStudents_WritesCsvRows_WhenFormatIsCsv() throws Exception {
+
+        final StringWriter writer = new StringWriter();
+
+        fixture.exportStudents(writer, StudentFormat.CSV);
+
+        assertThat(writer.toString()).isEqualTo("id,firstName,lastName\n"
+                + "1,Anton,Almishev\n"
+                + "2,\"Petyr, Jr.\",Pavlov\n");
+    }
+
+    @Test
+    public void exportStudents_ReadsKeysetChunksInOwnTransactions_UntilChunkIsShort() throws Exception {
+
+        fixture.exportStudents(new StringWriter(), StudentFormat.CSV);
+
+        then(jdbcTemplate).should().query(eq(SELECT_SQL), any(RowMapper.class), eq(0), eq(2));
+        then(jdbcTemplate).should().query(eq(SELECT_SQL), any(RowMapper.class), eq(2), eq(2));
+        then(transactionManager).should(times(2)).commit(any());
+    }
+
+    @Test
+    public void exportStudents_WritesJsonLines_WhenFormatIsJsonLines() throws Exception {
+
+        final StringWriter writer = new StringWriter();
+
+        fixture.exportStudents(writer, StudentFormat.JSONL);
+
+        assertThat(writer.toString()).isEqualTo("{\"id\":1,\"firstName\":\"Anton\",\"lastName\":\"Almishev\"}\n"
+                + "{\"id\":2,\"firstName\":\"Petyr, Jr.\",\"lastName\":\"Pavlov\"}\n");
+    }
+
+    @Test
+    public void exportStudents_ReadsMemoryStoreInPages_WhenStoreIsInMemory() throws Exception {
+
+        final InMemoryStudentStore store = new InMemoryStudentStore("", 0);
+
+        store.save(new Student(0, "Anton", "Almishev"));
+        store.save(new Student(0, "Petyr, Jr.", "Pavlov"));
+        store.save(new Student(0, "Nikola", "Bogatinov"));
+
+        final StringWriter writer = new StringWriter();
+
+        new StudentExportService(jdbcTemplate, transactionManager, new ObjectMapper(), Optional.of(store), 2)
+                .exportStudents(writer, StudentFormat.CSV);
+
+        assertThat(writer.toString()).isEqualTo("id,firstName,lastName\n"
+                + "1,Anton,Almishev\n"
+                + "2,\"Petyr, Jr.\",Pavlov\n"
+                + "3,Nikola,Bogatinov\n");
+        then(jdbcTemplate).shouldHaveNoInteractions();
+        then(transactionManager).shouldHaveNoInteractions();
+    }
+}
@@ -0,0 +1,147 @@
+package com.example.Item.service;
+
+import com.example.Item.model.Student;
+import com.example.Item.model.StudentSummary;
+import com.example.Item.repository.InMemoryStudentStore;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.io.StringReader;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static com.example.Item.service.StudentImportService.INSERT_SQL;
+import static com.example.Item.service.StudentImportService.NEXT_ID_BLOCKS_SQL;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.BDDMockito.then;
+import static org.mockito.Mockito.times;
+
+@ExtendWith(SpringExtension.class)
+public class StudentImportServiceTest {
+
+    @MockBean
+    private JdbcTemplate jdbcTemplate;
+
+    @MockBean
+    private PlatformTransactionManager transactionManager;
+
+    @MockBean
+    private ApplicationEventPublisher events;
+
+    private StudentImportService fixture;
+
+    @BeforeEach
+    public void setUp() {
+        fixture = new StudentImportService(jdbcTemplate, transactionManager, new ObjectMapper(), events, Optional.empty(), 2);
+
+        given(jdbcTemplate.queryForList(eq(NEXT_ID_BLOCKS_SQL), eq(Integer.class), any()))
+                .willAnswer(invocation -> IntStream.range(0, invocation.<Integer>getArgument(2))
+                        .mapToObj(block -> 1 + block * Student.ID_ALLOCATION_SIZE)
+                        .collect(Collectors.toList()));
+    }
+
+    @Test
+    public void importStudents_WritesInBatches_WhenCsvIsValid() throws Exception {
+
+        final String csv = "firstName,lastName\n"
+                + "Anton,Almishev\n"
+                + "\"Petyr, Jr.\",Pavlov\n"
+                + "Nikola,Bogatinov\n";
+
+        final ImportReport report = fixture.importStudents(new StringReader(csv), StudentFormat.CSV);
+
+        assertThat(report.getImported()).isEqualTo(3);
+        assertThat(report.getRejected()).isZero();
+
+        then(jdbcTemplate).should(times(2)).queryForList(NEXT_ID_BLOCKS_SQL, Integer.class, 1);
+        then(jdbcTemplate).should().batchUpdate(eq(INSERT_SQL), argThat((List<Object[]> batch) -> batch.size() == 2
+                && batch.get(0)[0].equals(1) && batch.get(1)[0].equals(2) && batch.get(1)[1].equals("Petyr, Jr.")));
+        then(jdbcTemplate).should().batchUpdate(eq(INSERT_SQL), argThat((List<Object[]> batch) -> batch.size() == 1));
+        then(jdbcTemplate).shouldHaveNoMoreInteractions();
+    }
+
+    @Test
+    public void importStudents_ReportsRejects_WhenJsonLinesAreInvalid() throws Exception {
+
+        final String jsonLines = "{\"firstName\":\"Anton\",\"lastName\":\"Almishev\"}\n"
+                + "{\"firstName\":\"Anton\"}\n"
+                + "not json\n";
+
+        final ImportReport report = fixture.importStudents(new StringReader(jsonLines), StudentFormat.JSONL);
+
+        assertThat(report.getImported()).isEqualTo(1);
+        assertThat(report.getRejected()).isEqualTo(2);
+        assertThat(report.getRejects()).extracting(ImportReport.Reject::getLine).containsExactly(2L, 3L);
+
+        then(jdbcTemplate).should(times(1)).batchUpdate(eq(INSERT_SQL), anyList());
+    }
+
+    @Test
+    public void importStudents_ReportsCommittedRowsAndFailedBatch_WhenBatchFails() throws Exception {
+
+        given(jdbcTemplate.batchUpdate(eq(INSERT_SQL), anyList()))
+                .willReturn(new int[]{1, 1})
+                .willThrow(new DataIntegrityViolationException("duplicate key"));
+
+        final String csv = "firstName,lastName\n"
+                + "Anton,Almishev\n"
+                + "Petyr,Pavlov\n"
+                + "Nikola,Bogatinov\n"
+                + "Vasil,Popov\n"
+                + "Tanq,Almisheva\n";
+
+        final ImportReport report = fixture.importStudents(new StringReader(csv), StudentFormat.CSV);
+
+        assertThat(report.getImported()).isEqualTo(2);
+        assertThat(report.getFailure()).isEqualTo(new ImportReport.Failure(2, 4, "duplicate key"));
+
+        then(jdbcTemplate).should(times(2)).batchUpdate(eq(INSERT_SQL), anyList());
+        then(events).should().publishEvent(any(StudentChangedEvent.class));
+    }
+
+    @Test
+    public void parseCsv_Rejects_WhenFieldCountIsWrong() {
+
+        assertThatThrownBy(() -> StudentImportService.parseCsv("Anton,Almishev,extra"))
+                .isInstanceOf(IllegalArgumentException.class);
+
+        final Student student = StudentImportService.parseCsv(" Anton , \"Al\"\"mishev\"");
+
+        assertThat(student.getFirstName()).isEqualTo("Anton");
+        assertThat(student.getLastName()).isEqualTo("Al\"mishev");
+    }
+
+    @Test
+    public void importStudents_SavesIntoMemoryStore_WhenStoreIsInMemory() throws Exception {
+
+        final InMemoryStudentStore store = new InMemoryStudentStore("", 0);
+
+        final ImportReport report = new StudentImportService(jdbcTemplate, transactionManager, new ObjectMapper(), events,
+                Optional.of(store), 2).importStudents(new StringReader("Anton,Almishev\nPetyr,Pavlov\nNikola,Bogatinov\n"),
+                StudentFormat.CSV);
+
+        assertThat(report.getImported()).isEqualTo(3);
+        assertThat(store.findSummariesAfter(0, PageRequest.of(0, 10)).getContent()).containsExactly(
+                new StudentSummary(1, "Anton", "Almishev"),
+                new StudentSummary(2, "Petyr", "Pavlov"),
+                new StudentSummary(3, "Nikola", "Bogatinov"));
+        then(jdbcTemplate).shouldHaveNoInteractions();
+    }
+}
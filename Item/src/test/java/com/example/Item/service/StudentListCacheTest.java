@@ -0,0 +1,51 @@
+package com.example.Item.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class StudentListCacheTest {
+
+    private StudentListCache fixture;
+
+    @BeforeEach
+    public void setUp() {
+        fixture = new StudentListCache(100, 60);
+    }
+
+    @Test
+    public void get_LoadsOnce_WhenNothingChanged() {
+
+        final AtomicInteger loads = new AtomicInteger();
+
+        fixture.get("page:0:2", loads::incrementAndGet);
+        final Integer actual = fixture.get("page:0:2", loads::incrementAndGet);
+
+        assertThat(actual).isEqualTo(1);
+        assertThat(loads).hasValue(1);
+    }
+
+    @Test
+    public void get_ReloadsWithNewVersion_WhenStudentChanged() {
+
+        final AtomicInteger loads = new AtomicInteger();
+
+        fixture.get("page:0:2", loads::incrementAndGet);
+        final long version = fixture.getVersion();
+
+        fixture.onStudentChanged(new StudentChangedEvent(StudentChangedEvent.Type.DELETED, 1, null));
+
+        final Integer actual = fixture.get("page:0:2", loads::incrementAndGet);
+
+        assertThat(actual).isEqualTo(2);
+        assertThat(fixture.getVersion()).isGreaterThan(version);
+    }
+
+    @Test
+    public void getVersion_DiffersBetweenInstances_WhenNothingWasWrittenYet() {
+        assertThat(new StudentListCache(100, 60).getVersion()).isNotEqualTo(fixture.getVersion());
+    }
+}
@@ -0,0 +1,177 @@
+package com.example.Item.service;
+
+import com.example.Item.configuration.Caching;
+import com.example.Item.configuration.ReadOnlyRoutingDataSource;
+import com.example.Item.model.Student;
+import com.example.Item.repository.StudentRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.cache.CacheManager;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.util.List;
+import java.util.Optional;
+
+import static com.example.Item.configuration.Caching.STUDENTS;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.BDDMockito.then;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+
+@ExtendWith(SpringExtension.class)
+@ContextConfiguration(classes = {Caching.class, StudentService.class})
+public class StudentServiceCacheTest {
+
+    @MockBean
+    private StudentRepository repository;
+
+    @Autowired
+    private StudentService fixture;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Test
+    public void getStudent_ReadsDatabaseOnce_WhenStudentIsRequestedRepeatedly() {
+
+        int id = 1;
+
+        Student student = new Student(id, "Vasko", "Popov");
+
+        given(repository.findById(id)).willReturn(Optional.of(student));
+
+        assertThat(fixture.getStudent(id)).contains(student);
+        assertThat(fixture.getStudent(id)).contains(student);
+
+        then(repository).should(times(1)).findById(id);
+        then(repository).shouldHaveNoMoreInteractions();
+    }
+
+    @Test
+    public void getStudent_ReturnsSavedStudent_WhenStudentIsSavedAfterRead() {
+
+        int id = 2;
+
+        Student original = new Student(id, "Vasko", "Popov");
+        Student updated = new Student(id, "Vasil", "Popov");
+
+        given(repository.findById(id)).willReturn(Optional.of(original));
+        given(repository.updateIfVersion(id, 0, "Vasil", "Popov")).willReturn(1);
+
+        fixture.getStudent(id);
+        final Student saved = fixture.save(updated);
+
+        assertThat(fixture.getStudent(id)).contains(saved);
+        assertThat(saved.getFirstName()).isEqualTo("Vasil");
+
+        then(repository).should(times(1)).findById(id);
+    }
+
+    @Test
+    public void getStudent_ReadsDatabaseAgain_WhenStudentIsDeleted() {
+
+        int id = 3;
+
+        given(repository.findById(id)).willReturn(Optional.of(new Student(id, "Vasko", "Popov")));
+        given(repository.deleteByIds(List.of(id))).willReturn(1);
+
+        fixture.getStudent(id);
+        fixture.delete(id);
+
+        given(repository.findById(id)).willReturn(Optional.empty());
+
+        assertThat(fixture.getStudent(id)).isEmpty();
+
+        then(repository).should(times(2)).findById(id);
+    }
+
+    @Test
+    public void save_CachesResultOnlyOnCommit_WhenSavedInsideEnclosingTransaction() {
+
+        given(repository.updateIfVersion(4, 0, "Vasil", "Popov")).willReturn(1);
+        given(repository.updateIfVersion(5, 0, "Vasil", "Popov")).willReturn(1);
+
+        TransactionSynchronizationManager.initSynchronization();
+
+        try {
+            fixture.save(new Student(4, "Vasil", "Popov"));
+
+            assertThat(cacheManager.getCache(STUDENTS).get(4)).isNull();
+
+            TransactionSynchronizationManager.getSynchronizations()
+                    .forEach(synchronization -> synchronization.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK));
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        assertThat(cacheManager.getCache(STUDENTS).get(4)).isNull();
+
+        TransactionSynchronizationManager.initSynchronization();
+
+        try {
+            fixture.save(new Student(5, "Vasil", "Popov"));
+
+            TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        assertThat(cacheManager.getCache(STUDENTS).get(5, Student.class)).isEqualTo(new Student(5, "Vasil", "Popov", 1));
+    }
+
+    @Test
+    public void getStudent_DoesNotCacheStaleReplicaRow_WhenStudentWasJustDeleted() throws Exception {
+
+        int id = 6;
+
+        final DataSource primary = mock(DataSource.class);
+        final DataSource replica = mock(DataSource.class);
+        final Connection replicaConnection = mock(Connection.class);
+        final ReadOnlyRoutingDataSource routing = new ReadOnlyRoutingDataSource(primary, replica);
+
+        given(primary.getConnection()).willReturn(mock(Connection.class));
+        given(replica.getConnection()).willReturn(replicaConnection);
+
+        // The replica has not applied the delete yet.
+        given(repository.findById(id)).willAnswer(invocation -> {
+
+            TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+
+            try {
+                return routing.getConnection() == replicaConnection
+                        ? Optional.of(new Student(id, "Vasko", "Popov")) : Optional.empty();
+            } finally {
+                TransactionSynchronizationManager.setCurrentTransactionReadOnly(false);
+            }
+        });
+
+        fixture.delete(id);
+
+        assertThat(fixture.getStudent(id)).isEmpty();
+        // Not cached at all, in particular not as the replica's row.
+        assertThat(cacheManager.getCache(STUDENTS).get(id)).isNull();
+    }
+
+    @Test
+    public void getStudent_FindsStudent_WhenInsertedBehindTheCacheAfterAMiss() {
+
+        int id = 7;
+
+        given(repository.findById(id)).willReturn(Optional.empty());
+
+        assertThat(fixture.getStudent(id)).isEmpty();
+
+        // e.g. by the bulk import, which writes with plain JDBC
+        given(repository.findById(id)).willReturn(Optional.of(new Student(id, "Vasko", "Popov")));
+
+        assertThat(fixture.getStudent(id)).contains(new Student(id, "Vasko", "Popov"));
+    }
+}
@@ -1,25 +1,36 @@
 package com.example.Item.service;
 
 import com.example.Item.model.Student;
+import com.example.Item.model.StudentSummary;
 import com.example.Item.repository.StudentRepository;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.test.context.junit.jupiter.SpringExtension;
-import static org.mockito.BDDMockito.willDoNothing;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.times;
 
 import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.BDDMockito.then;
 import static org.mockito.BDDMockito.given;
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 
 @ExtendWith(SpringExtension.class)
 public class StudentServiceTest {
@@ -27,11 +38,14 @@ public class StudentServiceTest {
     @MockBean
     private StudentRepository repository;
 
+    @MockBean
+    private ApplicationEventPublisher events;
+
     private StudentService fixture;
 
     @BeforeEach
     public void setUp() {
-        fixture = new StudentService(repository);
+        fixture = new StudentService(repository, events);
     }
 
     @Test
@@ -42,28 +56,102 @@ public class StudentServiceTest {
 
         int totalRecords = (int) (Math.random() * 100);
 
-        Student student1 = new Student(1, "One","Onev");
-        Student student2 = new Student(2,  "Two","Twov");
-        Student student3 = new Student(3, "Three","Threev");
+        StudentSummary student1 = new StudentSummary(1, "One","Onev");
+        StudentSummary student2 = new StudentSummary(2,  "Two","Twov");
+        StudentSummary student3 = new StudentSummary(3, "Three","Threev");
 
-        final List<Student> students = Arrays.asList(student1, student2, student3);
+        final List<StudentSummary> students = Arrays.asList(student1, student2, student3);
 
         final PageRequest page = PageRequest.of(pageNumber, pageSize);
 
-        final Page<Student> expected = new PageImpl<>(students, page, totalRecords);
+        final Page<StudentSummary> expected = new PageImpl<>(students, page, totalRecords);
 
-        given(repository.findAll(page)).willReturn(expected);
+        given(repository.findSummaries(page)).willReturn(expected);
 
-        Page<Student> actual = fixture.getStudents(pageNumber, pageSize);
+        Page<StudentSummary> actual = fixture.getStudents(pageNumber, pageSize);
 
         assertThat(actual).isEqualTo(expected);
         assertThat(actual.getContent()).hasSameElementsAs(students);
         assertThat(actual.getPageable()).isEqualTo(page);
 
-        then(repository).should().findAll(page);
+        then(repository).should().findSummaries(page);
+        then(repository).shouldHaveNoMoreInteractions();
+    }
+
+    @Test
+    public void getStudentsAfter_ReturnsSliceWithoutCount_WhenCursorIsGiven() {
+
+        int after = 10;
+        int pageSize = 2;
+
+        StudentSummary student1 = new StudentSummary(11, "One", "Onev");
+        StudentSummary student2 = new StudentSummary(12, "Two", "Twov");
+
+        final PageRequest page = PageRequest.of(0, pageSize);
+
+        final Slice<StudentSummary> expected = new SliceImpl<>(Arrays.asList(student1, student2), page, true);
+
+        given(repository.findSummariesAfter(after, page)).willReturn(expected);
+
+        Slice<StudentSummary> actual = fixture.getStudentsAfter(after, pageSize);
+
+        assertThat(actual).isEqualTo(expected);
+        assertThat(actual.hasNext()).isTrue();
+
+        then(repository).should().findSummariesAfter(after, page);
         then(repository).shouldHaveNoMoreInteractions();
     }
 
+    @Test
+    public void getStudentsBefore_ReturnsAscendingSlice_WhenCursorIsGiven() {
+
+        int before = 10;
+        int pageSize = 2;
+
+        StudentSummary student1 = new StudentSummary(8, "One", "Onev");
+        StudentSummary student2 = new StudentSummary(9, "Two", "Twov");
+
+        final PageRequest page = PageRequest.of(0, pageSize);
+
+        final Slice<StudentSummary> response = new SliceImpl<>(Arrays.asList(student2, student1), page, false);
+
+        given(repository.findSummariesBefore(before, page)).willReturn(response);
+
+        Slice<StudentSummary> actual = fixture.getStudentsBefore(before, pageSize);
+
+        assertThat(actual.getContent()).containsExactly(student1, student2);
+        assertThat(actual.hasNext()).isFalse();
+
+        then(repository).should().findSummariesBefore(before, page);
+        then(repository).shouldHaveNoMoreInteractions();
+    }
+
+    @Test
+    public void searchStudentsAfter_QueriesByLowerCasePrefix_WhenQueryIsGiven() {
+
+        int pageSize = 2;
+
+        StudentSummary student = new StudentSummary(4, "Anton", "Almishev");
+
+        final PageRequest page = PageRequest.of(0, pageSize);
+
+        final Slice<StudentSummary> expected = new SliceImpl<>(List.of(student), page, false);
+
+        given(repository.searchByNameAfter("alm", 0, page)).willReturn(expected);
+
+        Slice<StudentSummary> actual = fixture.searchStudentsAfter(" Alm ", 0, pageSize);
+
+        assertThat(actual).isEqualTo(expected);
+
+        then(repository).should().searchByNameAfter("alm", 0, page);
+        then(repository).shouldHaveNoMoreInteractions();
+    }
+
+    @Test
+    public void toPrefix_KeepsWildcardsLiteral_WhenQueryContainsThem() {
+
+        assertThat(StudentService.toPrefix("  50%_Off\\ ")).isEqualTo("50%_off\\");
+    }
 
     @Test
     public void save_ReturnSaved_WhenStudentRecordIsCreated() {
@@ -91,6 +179,35 @@ public class StudentServiceTest {
         then(repository).shouldHaveNoMoreInteractions();
     }
 
+    @Test
+    public void save_UpdatesConditionallyWithoutSelect_WhenStudentRecordExists() {
+
+        final Student student = new Student(1, "Tanq", "Almisheva", 3);
+
+        given(repository.updateIfVersion(1, 3, "Tanq", "Almisheva")).willReturn(1);
+
+        Student actual = fixture.save(student);
+
+        assertThat(actual).isEqualTo(new Student(1, "Tanq", "Almisheva", 4));
+
+        then(repository).should().updateIfVersion(1, 3, "Tanq", "Almisheva");
+        then(repository).shouldHaveNoMoreInteractions();
+        then(events).should().publishEvent(argThat((StudentChangedEvent event) ->
+                event.getType() == StudentChangedEvent.Type.UPDATED && event.getId() == 1));
+    }
+
+    @Test
+    public void save_ThrowsConflict_WhenVersionIsStale() {
+
+        final Student student = new Student(1, "Tanq", "Almisheva", 2);
+
+        given(repository.updateIfVersion(1, 2, "Tanq", "Almisheva")).willReturn(0);
+
+        assertThatThrownBy(() -> fixture.save(student)).isInstanceOf(ObjectOptimisticLockingFailureException.class);
+
+        then(events).shouldHaveNoInteractions();
+    }
+
     @Test
     public void getStudent_ReturnsStudent_WhenStudentExist() {
 
@@ -132,11 +249,45 @@ public class StudentServiceTest {
 
         int id = 1;
 
-        willDoNothing().given(repository).deleteById(id);
+        given(repository.deleteByIds(List.of(id))).willReturn(1);
 
         fixture.delete(id);
 
-        then(repository).should().deleteById(id);
+        then(repository).should().deleteByIds(List.of(id));
+        then(repository).shouldHaveNoMoreInteractions();
+        then(events).should().publishEvent(argThat((StudentChangedEvent event) ->
+                event.getType() == StudentChangedEvent.Type.DELETED && event.getId() == id));
+    }
+
+    @Test
+    public void deleteAll_DeletesInChunks_WhenManyIdsAreGiven() {
+
+        final List<Integer> ids = IntStream.rangeClosed(1, StudentService.BATCH_CHUNK_SIZE + 1).boxed()
+                .collect(Collectors.toList());
+
+        given(repository.deleteByIds(anyCollection())).willAnswer(invocation -> invocation.<List<Integer>>getArgument(0).size());
+
+        int affected = fixture.deleteAll(ids);
+
+        assertThat(affected).isEqualTo(ids.size());
+
+        then(repository).should(times(2)).deleteByIds(anyCollection());
+        then(repository).shouldHaveNoMoreInteractions();
+        then(events).should().publishEvent(any(StudentChangedEvent.class));
+    }
+
+    @Test
+    public void updateAll_UpdatesOnlyGivenNames_WhenLastNameIsBlank() {
+
+        final List<Integer> ids = Arrays.asList(1, 2, 2);
+
+        given(repository.updateNames(Arrays.asList(1, 2), "Anton", null)).willReturn(2);
+
+        int affected = fixture.updateAll(ids, " Anton ", " ");
+
+        assertThat(affected).isEqualTo(2);
+
+        then(repository).should().updateNames(Arrays.asList(1, 2), "Anton", null);
         then(repository).shouldHaveNoMoreInteractions();
     }
 
@@ -0,0 +1,196 @@
+package com.example.Item.service;
+
+import com.example.Item.model.Student;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.RejectedExecutionException;
+
+import static com.example.Item.configuration.Caching.STUDENTS;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.BDDMockito.then;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+
+@ExtendWith(SpringExtension.class)
+public class StudentWriteBehindTest {
+
+    @MockBean
+    private StudentService service;
+
+    @MockBean
+    private PlatformTransactionManager transactionManager;
+
+    private final CacheManager cacheManager = new ConcurrentMapCacheManager(STUDENTS);
+
+    private StudentWriteBehind fixture;
+
+    @AfterEach
+    public void tearDown() throws Exception {
+        fixture.destroy();
+    }
+
+    @Test
+    public void save_CommitsGroupOnce_WhenSavesArriveWithinWindow() {
+
+        fixture = new StudentWriteBehind(service, transactionManager, cacheManager, 100, 10, 200, 100, true);
+
+        final Student anton = new Student(1, "Anton", "Almishev", 0);
+        final Student petyr = new Student(2, "Petyr", "Pavlov", 0);
+        final Student nikola = new Student(0, "Nikola", "Bogatinov");
+
+        given(service.save(anton)).willReturn(new Student(1, "Anton", "Almishev", 1));
+        given(service.save(petyr)).willReturn(new Student(2, "Petyr", "Pavlov", 1));
+        given(service.save(nikola)).willReturn(new Student(3, "Nikola", "Bogatinov", 0));
+
+        final CompletableFuture<Student> first = fixture.submit(anton);
+        final CompletableFuture<Student> second = fixture.submit(petyr);
+        final CompletableFuture<Student> third = fixture.submit(nikola);
+
+        assertThat(first.join()).isEqualTo(new Student(1, "Anton", "Almishev", 1));
+        assertThat(second.join()).isEqualTo(new Student(2, "Petyr", "Pavlov", 1));
+        assertThat(third.join().getId()).isEqualTo(3);
+
+        then(transactionManager).should(times(1)).getTransaction(any());
+        then(transactionManager).should(times(1)).commit(any());
+        then(transactionManager).should(never()).rollback(any());
+    }
+
+    @Test
+    public void save_FailsOnlyConflictingSave_WhenGroupContainsStaleVersion() {
+
+        fixture = new StudentWriteBehind(service, transactionManager, cacheManager, 100, 10, 200, 100, false);
+
+        final Student stale = new Student(1, "Anton", "Almishev", 0);
+        final Student fresh = new Student(2, "Petyr", "Pavlov", 3);
+
+        given(service.save(stale)).willThrow(new ObjectOptimisticLockingFailureException(Student.class, 1));
+        given(service.save(fresh)).willReturn(new Student(2, "Petyr", "Pavlov", 4));
+
+        final CompletableFuture<Student> conflicting = fixture.submit(stale);
+        final CompletableFuture<Student> saved = fixture.submit(fresh);
+
+        assertThat(saved.join()).isEqualTo(new Student(2, "Petyr", "Pavlov", 4));
+        assertThatThrownBy(conflicting::join).hasCauseInstanceOf(ObjectOptimisticLockingFailureException.class);
+
+        assertThat(cacheManager.getCache(STUDENTS).get(1)).isNull();
+        then(transactionManager).should(times(1)).commit(any());
+    }
+
+    @Test
+    public void save_KeepsCreate_WhenGroupIsRolledBackByAnotherSave() {
+
+        fixture = new StudentWriteBehind(service, transactionManager, cacheManager, 100, 10, 200, 100, false);
+
+        given(service.save(any())).willAnswer(invocation -> {
+            final Student student = invocation.getArgument(0);
+
+            if ("Broken".equals(student.getLastName())) {
+                throw new DataIntegrityViolationException("s_last_name");
+            }
+            if (student.getId() != 0) {
+                throw new ObjectOptimisticLockingFailureException(Student.class, student.getId());
+            }
+
+            // Like persist: the id lands on the passed instance before the commit.
+            student.setId(7);
+
+            return new Student(7, student.getFirstName(), student.getLastName(), 0);
+        });
+
+        final CompletableFuture<Student> created = fixture.submit(new Student(0, "Nikola", "Bogatinov"));
+        final CompletableFuture<Student> broken = fixture.submit(new Student(0, "Petyr", "Broken"));
+
+        assertThat(created.join()).isEqualTo(new Student(7, "Nikola", "Bogatinov", 0));
+        assertThatThrownBy(broken::join).hasCauseInstanceOf(DataIntegrityViolationException.class);
+
+        // The group, then the broken save on its own.
+        then(transactionManager).should(times(2)).rollback(any());
+    }
+
+    @Test
+    public void save_CachesPendingUpdate_WhenAcknowledgedBeforeCommit() throws Exception {
+
+        final CountDownLatch committing = new CountDownLatch(1);
+
+        fixture = new StudentWriteBehind(service, transactionManager, cacheManager, 100, 10, 0, 100, false);
+
+        final Student student = new Student(1, "Antonio", "Almishev", 2);
+
+        cacheManager.getCache(STUDENTS).put(1, new Student(1, "Anton", "Almishev", 2));
+
+        given(service.save(student)).willAnswer(invocation -> {
+            committing.await();
+            return new Student(1, "Antonio", "Almishev", 3);
+        });
+
+        fixture.save(student);
+
+        assertThat(cacheManager.getCache(STUDENTS).get(1, Student.class))
+                .isEqualTo(new Student(1, "Antonio", "Almishev", 3));
+
+        committing.countDown();
+    }
+
+    @Test
+    public void save_KeepsCachedStudent_WhenConflictingSaveGotThereFirst() throws Exception {
+
+        final CountDownLatch committing = new CountDownLatch(1);
+
+        fixture = new StudentWriteBehind(service, transactionManager, cacheManager, 100, 10, 0, 100, false);
+
+        cacheManager.getCache(STUDENTS).put(1, new Student(1, "Anton", "Almishev", 2));
+
+        given(service.save(any())).willAnswer(invocation -> {
+            committing.await();
+            throw new ObjectOptimisticLockingFailureException(Student.class, 1);
+        });
+
+        // Both read version 2; the second is queued behind the first and will conflict.
+        fixture.save(new Student(1, "Antonio", "Almishev", 2));
+        fixture.save(new Student(1, "Toni", "Almishev", 2));
+
+        assertThat(cacheManager.getCache(STUDENTS).get(1, Student.class))
+                .isEqualTo(new Student(1, "Antonio", "Almishev", 3));
+
+        committing.countDown();
+    }
+
+    @Test
+    public void save_RejectsSave_WhenQueueStaysFull() throws Exception {
+
+        final CountDownLatch writing = new CountDownLatch(1);
+        final CountDownLatch committing = new CountDownLatch(1);
+
+        fixture = new StudentWriteBehind(service, transactionManager, cacheManager, 1, 10, 0, 10, false);
+
+        given(service.save(any())).willAnswer(invocation -> {
+            writing.countDown();
+            committing.await();
+            return invocation.getArgument(0);
+        });
+
+        fixture.submit(new Student(0, "Anton", "Almishev"));
+        writing.await();
+        fixture.submit(new Student(0, "Petyr", "Pavlov"));
+
+        assertThatThrownBy(() -> fixture.submit(new Student(0, "Nikola", "Bogatinov")))
+                .isInstanceOf(RejectedExecutionException.class);
+        assertThat(fixture.getQueueSize()).isEqualTo(1);
+
+        committing.countDown();
+    }
+}
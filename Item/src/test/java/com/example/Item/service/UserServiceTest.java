@@ -7,6 +7,7 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.userdetails.UserCache;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.test.context.junit.jupiter.SpringExtension;
@@ -26,11 +27,14 @@ public class UserServiceTest {
     @MockBean
     private UserRepository repository;
 
+    @MockBean
+    private UserCache userCache;
+
     private UserService fixture;
 
     @BeforeEach
     public void setUp() {
-        fixture = new UserService(repository);
+        fixture = new UserService(repository, userCache);
     }
 
     @Test
@@ -91,6 +95,7 @@ public class UserServiceTest {
 
         then(repository).should().save(expected);
         then(repository).shouldHaveNoMoreInteractions();
+        then(userCache).should().removeUserFromCache("anton");
     }
 
 